@@ -0,0 +1,45 @@
+package org.example.backend.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "ix_refresh_token_family", columnList = "family"),
+        @Index(name = "ix_refresh_token_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the opaque token, hex encoded; the raw value is only ever held by the client
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    // Every token rotated from the same login shares a family, so reuse can revoke them all
+    @Column(nullable = false, length = 36)
+    private String family;
+
+    private long expiresAt;
+
+    private boolean used;
+
+    private boolean revoked;
+}
@@ -0,0 +1,24 @@
+package org.example.backend.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "ix_revoked_token_expires_at", columnList = "expiresAt"))
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    // Epoch millis after which the token would be rejected anyway and the row can go
+    private long expiresAt;
+}
@@ -1,20 +1,54 @@
 package org.example.backend.dao.entity;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.Objects;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_role_role", columnNames = "role"))
 public class Role {
+    // Storage and join key only; the API names roles by their role name
     @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
     @NotBlank(message = "Role name is required")
     @Size(min = 1, max = 50, message = "Role name must be between 1 and 50 characters")
+    @Column(nullable = false)
     private String role;
+
+    public Role(String role) {
+        this.role = role;
+    }
+
+    // By id, through the getter and final, so a lazy reference added to User.roles is hashed and
+    // compared without loading the role row; roles not yet saved are only equal to themselves
+    @Override
+    public final boolean equals(Object o) {
+        return this == o || o instanceof Role other && getId() != null && getId().equals(other.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hashCode(getId());
+    }
 }
@@ -0,0 +1,30 @@
+package org.example.backend.dao.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class SigningKey {
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    @Column(length = 10, nullable = false)
+    private String algorithm;
+
+    // X.509 (SubjectPublicKeyInfo) encoding; private keys never leave the node that made them
+    @Column(length = 128, nullable = false)
+    private byte[] publicKey;
+
+    private long createdAt;
+
+    // Epoch millis after which no token signed with this key can still be valid
+    private long expiresAt;
+}
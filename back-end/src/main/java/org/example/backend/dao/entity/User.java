@@ -1,9 +1,21 @@
 package org.example.backend.dao.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -11,9 +23,13 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.List;
+import java.util.Set;
 
 @Data
 @Entity
@@ -21,10 +37,27 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Transactional
+// Mirrors the migrations in db/migration, which own the schema
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_user_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_user_name", columnList = "lastName, firstName, username"),
+        @Index(name = "idx_user_email", columnList = "email, username")
+})
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User {
+    public static final String WITH_ROLES = "User.roles";
+
+
+    // Storage and join key only; the API and every lookup go by username
     @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @Column(nullable = false)
     private String username;
     
     @NotBlank(message = "Password is required")
@@ -43,6 +76,16 @@ public class User {
     @Size(min = 1, max = 50, message = "Last name must be between 1 and 50 characters")
     private String lastName;
     
-    @ManyToMany(fetch = FetchType.EAGER)
-    private List<Role> roles;
+    // Loaded only by the queries that ask for it (see UserRepository). A set keyed by
+    // (user_id, role_id), so a grant or revocation writes exactly one join row
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "user_roles",
+            joinColumns = @JoinColumn(name = "user_id", foreignKey = @ForeignKey(name = "fk_user_roles_user")),
+            inverseJoinColumns = @JoinColumn(name = "role_id", foreignKey = @ForeignKey(name = "fk_user_roles_role")),
+            indexes = @Index(name = "idx_user_roles_role", columnList = "role_id, user_id"))
+    @OrderBy("role")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<Role> roles;
 }
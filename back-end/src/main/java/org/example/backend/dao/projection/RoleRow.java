@@ -0,0 +1,5 @@
+package org.example.backend.dao.projection;
+
+// A role's surrogate id with its name, as loaded into the role registry
+public record RoleRow(Integer id, String role) {
+}
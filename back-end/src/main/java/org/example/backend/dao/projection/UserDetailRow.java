@@ -0,0 +1,5 @@
+package org.example.backend.dao.projection;
+
+// A user's columns repeated once per role (or once with a null role), from a single joined select
+public record UserDetailRow(String username, String email, String firstName, String lastName, String role) {
+}
@@ -0,0 +1,5 @@
+package org.example.backend.dao.projection;
+
+// One (user, role) pair; role is null for a user without roles when selected through a left join
+public record UserRoleRow(String username, String role) {
+}
@@ -0,0 +1,5 @@
+package org.example.backend.dao.projection;
+
+// Scalar columns of a user, selected straight from the table without a managed entity
+public record UserRow(String username, String email, String firstName, String lastName) {
+}
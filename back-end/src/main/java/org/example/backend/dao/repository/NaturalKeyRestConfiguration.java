@@ -0,0 +1,32 @@
+package org.example.backend.dao.repository;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.service.RoleRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
+
+/**
+ * Spring Data REST keeps addressing users by username and roles by role name; the numeric ids
+ * are storage keys and never appear in a URI. Roles resolve through the registry to their id,
+ * so a role resource is still served from the second-level cache.
+ */
+@Configuration
+public class NaturalKeyRestConfiguration implements RepositoryRestConfigurer {
+
+    private final RoleRegistry roleRegistry;
+
+    public NaturalKeyRestConfiguration(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Override
+    public void configureRepositoryRestConfiguration(RepositoryRestConfiguration config, CorsRegistry cors) {
+        config.withEntityLookup()
+                .forRepository(UserRepository.class, User::getUsername, UserRepository::findByUsername)
+                .forRepository(RoleRepository.class, Role::getRole,
+                        (RoleRepository repository, String role) -> roleRegistry.idOf(role).flatMap(repository::findById));
+    }
+}
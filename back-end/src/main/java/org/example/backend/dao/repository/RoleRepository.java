@@ -1,9 +1,20 @@
 package org.example.backend.dao.repository;
 
 import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.projection.RoleRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface RoleRepository extends JpaRepository<Role, String> {
+public interface RoleRepository extends JpaRepository<Role, Integer> {
+
+    @Query("SELECT new org.example.backend.dao.projection.RoleRow(r.id, r.role) FROM Role r ORDER BY r.role")
+    List<RoleRow> findAllRows();
+
+    boolean existsByRole(String role);
+
+    long deleteByRole(String role);
 }
@@ -0,0 +1,24 @@
+package org.example.backend.dao.repository;
+
+import org.example.backend.dao.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@RepositoryRestResource(exported = false)
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findByExpiresAtGreaterThan(long now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SigningKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -2,16 +2,97 @@ package org.example.backend.dao.repository;
 
 import org.example.backend.dao.entity.Role;
 import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserDetailRow;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    // The id is a storage key only; every lookup goes through the unique username
+    Optional<User> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+
+    long deleteByUsername(String username);
     
+    // Writes that answer with the updated user: the entity and its roles in one joined select
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUsername(String username);
+
+    // Read-only views select into records; nothing enters the persistence context
+    @Query("SELECT new org.example.backend.dao.projection.UserDetailRow("
+            + "u.username, u.email, u.firstName, u.lastName, r.role) "
+            + "FROM User u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<UserDetailRow> findDetailRowsByUsername(@Param("username") String username);
+
+    // Second query of the list views: the roles of one page in a single IN select
+    @Query("SELECT new org.example.backend.dao.projection.UserRoleRow(u.username, r.role) "
+            + "FROM User u JOIN u.roles r WHERE u.username IN :usernames")
+    List<UserRoleRow> findRoleRowsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
     @Query("SELECT u.roles FROM User u WHERE u.username = :username")
     List<Role> findRolesByUsername(@Param("username") String username);
+
+    // One row per role (a single row with a null role for users without any); no entity is loaded
+    @Query("SELECT u.username AS username, u.password AS password, r.role AS role "
+            + "FROM User u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<CredentialRow> findCredentialsByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    // Keyset pages: each ORDER BY matches an index on User and ends with a unique column
+    String USER_ROW = "SELECT new org.example.backend.dao.projection.UserRow("
+            + "u.username, u.email, u.firstName, u.lastName) FROM User u ";
+
+    @Query(USER_ROW + "ORDER BY u.username")
+    List<UserRow> findFirstPageByUsername(Limit limit);
+
+    @Query(USER_ROW + "WHERE u.username > :username ORDER BY u.username")
+    List<UserRow> findPageByUsernameAfter(@Param("username") String username, Limit limit);
+
+    @Query(USER_ROW + "ORDER BY u.lastName, u.firstName, u.username")
+    List<UserRow> findFirstPageByName(Limit limit);
+
+    @Query(USER_ROW + "WHERE u.lastName > :lastName "
+            + "OR (u.lastName = :lastName AND u.firstName > :firstName) "
+            + "OR (u.lastName = :lastName AND u.firstName = :firstName AND u.username > :username) "
+            + "ORDER BY u.lastName, u.firstName, u.username")
+    List<UserRow> findPageByNameAfter(@Param("lastName") String lastName, @Param("firstName") String firstName,
+            @Param("username") String username, Limit limit);
+
+    // Users without an email come first (MySQL and H2 order NULL below any value), by username
+    @Query(USER_ROW + "ORDER BY u.email, u.username")
+    List<UserRow> findFirstPageByEmail(Limit limit);
+
+    @Query(USER_ROW + "WHERE (u.email IS NULL AND u.username > :username) OR u.email IS NOT NULL "
+            + "ORDER BY u.email, u.username")
+    List<UserRow> findPageByNullEmailAfter(@Param("username") String username, Limit limit);
+
+    @Query(USER_ROW + "WHERE u.email > :email ORDER BY u.email, u.username")
+    List<UserRow> findPageByEmailAfter(@Param("email") String email, Limit limit);
+
+    interface CredentialRow {
+        String getUsername();
+
+        String getPassword();
+
+        String getRole();
+    }
 }
@@ -0,0 +1,72 @@
+package org.example.backend.dao.routing;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else to the
+ * primary, unless the current user wrote within the {@link ReadYourWritesWindow}. Every
+ * decision is counted under {@code datasource.routing}, tagged with the target and the reason.
+ *
+ * <p>The decision is made when a connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: Hibernate asks
+ * for its connection while the transaction begins, before Spring marks it read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final Counter readOnly;
+    private final Counter readWrite;
+    private final Counter pinned;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesWindow readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readOnly = counter(meterRegistry, "replica", "read-only");
+        this.readWrite = counter(meterRegistry, "primary", "read-write");
+        this.pinned = counter(meterRegistry, "primary", "read-your-writes");
+        Gauge.builder("datasource.routing.pinned.users", readYourWritesWindow, ReadYourWritesWindow::size)
+                .description("Users whose reads are currently kept on the primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWritesWindow.isCurrentUserPinned()) {
+            pinned.increment();
+            return Target.PRIMARY;
+        }
+        readOnly.increment();
+        return Target.REPLICA;
+    }
+
+    // Whether a connection fetched now would come from the replica
+    static boolean routesToReplica(ReadYourWritesWindow readYourWritesWindow) {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWritesWindow.isCurrentUserPinned();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .description("Connections handed out, by the pool chosen and why")
+                .register(meterRegistry);
+    }
+}
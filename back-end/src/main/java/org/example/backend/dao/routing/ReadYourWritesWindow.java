@@ -0,0 +1,94 @@
+package org.example.backend.dao.routing;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Remembers when each user's last read-write transaction committed. For a short window after
+ * that, the user's read-only transactions stay on the primary, so they see their own changes
+ * before the replica has caught up. Users are keyed by the authenticated name; anonymous
+ * requests and background jobs are never pinned.
+ *
+ * <p>The window is local to this node. A user whose next request lands on another node reads
+ * from its replica pool as usual.
+ */
+public class ReadYourWritesWindow implements TransactionExecutionListener {
+
+    static final int MAX_TRACKED_USERS = 10_000;
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public ReadYourWritesWindow(long windowMillis) {
+        this(windowMillis, System::nanoTime);
+    }
+
+    ReadYourWritesWindow(long windowMillis, LongSupplier nanoClock) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    // Called for transactions this manager started, not for ones that joined an outer transaction
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            String username = currentUsername();
+            if (username != null) {
+                recordWrite(username);
+            }
+        }
+    }
+
+    public boolean isCurrentUserPinned() {
+        String username = currentUsername();
+        return username != null && isPinned(username);
+    }
+
+    void recordWrite(String username) {
+        long now = nanoClock.getAsLong();
+        if (lastWrites.size() >= MAX_TRACKED_USERS) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        lastWrites.put(key(username), now);
+    }
+
+    boolean isPinned(String username) {
+        String key = key(username);
+        Long writtenAt = lastWrites.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(key, writtenAt);
+        return false;
+    }
+
+    int size() {
+        return lastWrites.size();
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // MySQL compares usernames case-insensitively, so "Alice" and "alice" are the same user
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.backend.dao.routing;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Stops transactions that read from the replica from filling the second-level cache. The
+ * replica can lag, so a role or a user's role set it returns may predate the primary's, and
+ * putting it would hand that stale state to every session until the entry expires. Such a
+ * transaction's session runs with {@link CacheMode#GET}: it still reads cached entries but adds
+ * none, and its previous mode is restored when the transaction completes.
+ */
+public class ReplicaCacheMode implements TransactionExecutionListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    public ReplicaCacheMode(EntityManagerFactory entityManagerFactory, ReadYourWritesWindow readYourWritesWindow) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    // Runs once the transaction's read-only flag and synchronizations are in place
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || !ReadWriteRoutingDataSource.routesToReplica(readYourWritesWindow)
+                || !(TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)) {
+            return;
+        }
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        // Open-in-view keeps the session for the request's later transactions, which may write
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(previous);
+                }
+            }
+        });
+    }
+}
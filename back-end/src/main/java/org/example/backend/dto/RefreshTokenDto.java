@@ -0,0 +1,16 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RefreshTokenDto {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
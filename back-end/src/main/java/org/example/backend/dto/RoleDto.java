@@ -4,13 +4,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
-@Data
+// Immutable so RoleMapper can hand the same instance to every user holding the role
+@Value
 @AllArgsConstructor
-@NoArgsConstructor
 @Builder
+@Jacksonized
 public class RoleDto {
     @NotBlank(message = "Role name is required")
     @Size(min = 1, max = 50, message = "Role name must be between 1 and 50 characters")
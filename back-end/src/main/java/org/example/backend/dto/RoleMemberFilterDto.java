@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Selects users by every field that is set; at least one must be
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoleMemberFilterDto {
+    @Size(min = 1, max = 50, message = "Username prefix must be between 1 and 50 characters")
+    private String usernamePrefix;
+
+    // Matches emails ending in "@" followed by this domain
+    @Size(min = 1, max = 255, message = "Email domain must be between 1 and 255 characters")
+    private String emailDomain;
+
+    // Users that already hold this role
+    @Size(min = 1, max = 50, message = "Role name must be between 1 and 50 characters")
+    private String role;
+}
@@ -0,0 +1,24 @@
+package org.example.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Members to grant a role to or revoke it from: either explicit usernames or a filter, not both
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoleMembersDto {
+    @Size(max = 100_000, message = "At most 100000 usernames per request")
+    private List<@NotBlank(message = "Username is required") String> usernames;
+
+    @Valid
+    private RoleMemberFilterDto filter;
+}
@@ -0,0 +1,18 @@
+package org.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RoleMembersResultDto {
+    private String role;
+    // Rows inserted or deleted
+    private long changed;
+    // Listed usernames left alone: unknown, or already in the requested state. Always 0 for a filter.
+    private long skipped;
+}
@@ -0,0 +1,18 @@
+package org.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserImportErrorDto {
+    // 1-based line of the request body
+    private long line;
+    // Null when the line could not be parsed far enough to tell
+    private String username;
+    private String message;
+}
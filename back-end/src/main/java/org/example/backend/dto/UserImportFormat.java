@@ -0,0 +1,22 @@
+package org.example.backend.dto;
+
+import java.util.Locale;
+
+/**
+ * Line formats of the bulk user import and export, one user per line. An import line carries the
+ * {@link CreateUserDto} fields; an export line carries the {@link UserDto} fields.
+ */
+public enum UserImportFormat {
+    // One JSON object per line
+    NDJSON,
+    // A header line naming the columns (any order), then one user per line
+    CSV;
+
+    public static UserImportFormat fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserImportResultDto {
+    private long imported;
+    private long failed;
+    // Sorted by line and capped at 1000 entries; "failed" counts every rejected row
+    private List<UserImportErrorDto> errors;
+}
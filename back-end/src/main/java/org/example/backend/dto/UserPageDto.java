@@ -0,0 +1,18 @@
+package org.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserPageDto {
+    private List<UserDto> items;
+    // Opaque; pass back as ?cursor= to get the next page. Null on the last page.
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package org.example.backend.dto;
+
+import java.util.Locale;
+
+// Orderings the user listing can page through; every one ends with username so the key is unique
+public enum UserSort {
+    USERNAME,
+    NAME,
+    EMAIL;
+
+    public static UserSort fromParam(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort: " + value);
+        }
+    }
+}
@@ -2,46 +2,72 @@ package org.example.backend.mapper;
 
 import org.example.backend.dao.entity.Role;
 import org.example.backend.dto.RoleDto;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class RoleMapper {
 
-    private final ModelMapper modelMapper = new ModelMapper();
+    // Role names are few; past this many distinct names new ones are mapped without being kept
+    static final int MAX_SHARED_ROLES = 1024;
+
+    private final ConcurrentHashMap<String, RoleDto> shared = new ConcurrentHashMap<>();
 
     public RoleDto toDto(Role role) {
         if (role == null) {
             return null;
         }
-        return modelMapper.map(role, RoleDto.class);
+        return toDto(role.getRole());
+    }
+
+    // One RoleDto per role name, shared by every user that holds it
+    public RoleDto toDto(String roleName) {
+        if (roleName == null) {
+            return new RoleDto(null);
+        }
+        RoleDto roleDto = shared.get(roleName);
+        if (roleDto == null) {
+            roleDto = new RoleDto(roleName);
+            if (shared.size() < MAX_SHARED_ROLES) {
+                RoleDto existing = shared.putIfAbsent(roleName, roleDto);
+                if (existing != null) {
+                    roleDto = existing;
+                }
+            }
+        }
+        return roleDto;
     }
 
     public Role toEntity(RoleDto roleDto) {
         if (roleDto == null) {
             return null;
         }
-        return modelMapper.map(roleDto, Role.class);
+        return new Role(roleDto.getRole());
     }
 
-    public List<RoleDto> toDtoList(List<Role> roles) {
+    public List<RoleDto> toDtoList(Collection<Role> roles) {
         if (roles == null) {
             return null;
         }
-        return roles.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<RoleDto> roleDtos = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            roleDtos.add(toDto(role));
+        }
+        return roleDtos;
     }
 
     public List<Role> toEntityList(List<RoleDto> roleDtos) {
         if (roleDtos == null) {
             return null;
         }
-        return roleDtos.stream()
-                .map(this::toEntity)
-                .collect(Collectors.toList());
+        List<Role> roles = new ArrayList<>(roleDtos.size());
+        for (RoleDto roleDto : roleDtos) {
+            roles.add(toEntity(roleDto));
+        }
+        return roles;
     }
 }
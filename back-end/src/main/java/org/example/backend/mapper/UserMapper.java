@@ -1,21 +1,24 @@
 package org.example.backend.mapper;
 
 import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserDetailRow;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
 import org.example.backend.dto.CreateUserDto;
+import org.example.backend.dto.RoleDto;
 import org.example.backend.dto.UpdateUserDto;
 import org.example.backend.dto.UserDto;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Component
 public class UserMapper {
 
-    private final ModelMapper modelMapper = new ModelMapper();
-
     @Autowired
     private RoleMapper roleMapper;
 
@@ -23,31 +26,75 @@ public class UserMapper {
         if (user == null) {
             return null;
         }
-        UserDto userDto = modelMapper.map(user, UserDto.class);
-        userDto.setRoles(roleMapper.toDtoList(user.getRoles()));
-        return userDto;
+        return new UserDto(user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                roleMapper.toDtoList(user.getRoles()));
+    }
+
+    // The scalar columns of a saved user, as the search index holds them
+    public UserRow toRow(User user) {
+        return new UserRow(user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName());
     }
 
     public User toEntity(CreateUserDto createUserDto) {
         if (createUserDto == null) {
             return null;
         }
-        return modelMapper.map(createUserDto, User.class);
+        return User.builder()
+                .username(createUserDto.getUsername())
+                .password(createUserDto.getPassword())
+                .email(createUserDto.getEmail())
+                .firstName(createUserDto.getFirstName())
+                .lastName(createUserDto.getLastName())
+                .build();
     }
 
     public void updateEntity(User user, UpdateUserDto updateUserDto) {
         if (user == null || updateUserDto == null) {
             return;
         }
-        modelMapper.map(updateUserDto, user);
+        // Every editable field is copied, nulls included; username, password and roles are left alone
+        user.setEmail(updateUserDto.getEmail());
+        user.setFirstName(updateUserDto.getFirstName());
+        user.setLastName(updateUserDto.getLastName());
     }
 
     public List<UserDto> toDtoList(List<User> users) {
         if (users == null) {
             return null;
         }
-        return users.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<UserDto> userDtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            userDtos.add(toDto(user));
+        }
+        return userDtos;
+    }
+
+    // Rows from the projection queries
+    public List<UserDto> toDtoList(List<UserRow> users, List<UserRoleRow> roles) {
+        Map<String, List<RoleDto>> rolesByUser = new HashMap<>();
+        for (UserRoleRow row : roles) {
+            rolesByUser.computeIfAbsent(row.username(), username -> new ArrayList<>())
+                    .add(roleMapper.toDto(row.role()));
+        }
+        List<UserDto> dtos = new ArrayList<>(users.size());
+        for (UserRow user : users) {
+            dtos.add(new UserDto(user.username(), user.email(), user.firstName(), user.lastName(),
+                    rolesByUser.getOrDefault(user.username(), new ArrayList<>())));
+        }
+        return dtos;
+    }
+
+    public UserDto toDto(List<UserDetailRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        UserDetailRow first = rows.get(0);
+        List<RoleDto> roles = new ArrayList<>(rows.size());
+        for (UserDetailRow row : rows) {
+            if (row.role() != null) {
+                roles.add(roleMapper.toDto(row.role()));
+            }
+        }
+        return new UserDto(first.username(), first.email(), first.firstName(), first.lastName(), roles);
     }
 }
@@ -0,0 +1,50 @@
+package org.example.backend.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Canonical, immutable authority lists keyed by a token's roles claim. Users share a handful of
+ * role combinations, so the prefixed names and {@link SimpleGrantedAuthority} objects are built
+ * once per combination instead of once per token.
+ */
+@Component
+public class AuthorityRegistry {
+
+    static final int MAX_ROLE_SETS = 1_024;
+
+    private final ConcurrentHashMap<List<String>, List<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
+
+    public List<GrantedAuthority> authoritiesFor(List<String> roles) {
+        List<GrantedAuthority> authorities = authoritySets.get(roles);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = build(roles);
+        // An unbounded number of combinations can only come from unusual claims; serve them uncached
+        if (authoritySets.size() < MAX_ROLE_SETS) {
+            List<GrantedAuthority> existing = authoritySets.putIfAbsent(List.copyOf(roles), authorities);
+            return existing != null ? existing : authorities;
+        }
+        return authorities;
+    }
+
+    int size() {
+        return authoritySets.size();
+    }
+
+    private static List<GrantedAuthority> build(List<String> roles) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+            authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.backend.security;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.backend.service.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Username, password hash and role names of recently loaded users, kept for a bounded time.
+ * Entries are immutable snapshots and every read hands out a fresh {@link UserDetails}, because
+ * the authentication manager erases the credentials of the instance it is given.
+ *
+ * <p>Writers call {@link #evictAfterCommit}. Each eviction bumps a generation counter, and a
+ * load that started before the eviction is not cached, so a login racing a password change
+ * cannot put the old hash back.
+ */
+@Component
+public class BoundedUserCache implements UserCache {
+
+    static final int MAX_CACHED_USERS = 10_000;
+
+    private final ConcurrentHashMap<String, CachedUser> users = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public BoundedUserCache(@Value("${security.user-cache.ttl-ms:300000}") long ttlMillis,
+                            MeterRegistry meterRegistry) {
+        this.ttlMillis = ttlMillis;
+        this.hits = Counter.builder("security.user.cache")
+                .tag("result", "hit")
+                .description("User lookups answered from the user cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("security.user.cache")
+                .tag("result", "miss")
+                .description("User lookups that went to the database")
+                .register(meterRegistry);
+        Gauge.builder("security.user.cache.size", users, ConcurrentHashMap::size)
+                .description("Users currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        String key = key(username);
+        CachedUser cached = users.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                hits.increment();
+                return cached.toUserDetails();
+            }
+            users.remove(key, cached);
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        long now = System.currentTimeMillis();
+        if (users.size() >= MAX_CACHED_USERS) {
+            evict(now);
+        }
+        users.put(key(user.getUsername()), new CachedUser(user.getUsername(), user.getPassword(),
+                user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(), now + ttlMillis));
+    }
+
+    // Caches the user only if nothing was evicted since the caller read generation()
+    public void putUserInCache(UserDetails user, long loadedAtGeneration) {
+        if (generation.get() == loadedAtGeneration) {
+            putUserInCache(user);
+        }
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        generation.incrementAndGet();
+        users.remove(key(username));
+    }
+
+    public void evictAfterCommit(String username) {
+        removeUserFromCache(username);
+        TransactionHooks.afterCompletion(() -> removeUserFromCache(username));
+    }
+
+    // One generation bump and one synchronization for the whole batch
+    public void evictAfterCommit(Collection<String> usernames) {
+        removeUsersFromCache(usernames);
+        TransactionHooks.afterCompletion(() -> removeUsersFromCache(usernames));
+    }
+
+    public void clearAfterCommit() {
+        clear();
+        TransactionHooks.afterCompletion(this::clear);
+    }
+
+    private void removeUsersFromCache(Collection<String> usernames) {
+        generation.incrementAndGet();
+        for (String username : usernames) {
+            users.remove(key(username));
+        }
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        users.clear();
+    }
+
+    // An evicted user costs one credentials query the next time they are looked up
+    private void evict(long now) {
+        users.values().removeIf(entry -> entry.expiresAt() <= now);
+        int excess = users.size() - (MAX_CACHED_USERS - MAX_CACHED_USERS / 10);
+        Iterator<String> keys = users.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // MySQL compares usernames case-insensitively, so "Alice" and "alice" are the same row
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private record CachedUser(String username, String password, List<String> authorities, long expiresAt) {
+
+        UserDetails toUserDetails() {
+            List<GrantedAuthority> grantedAuthorities = AuthorityUtils.createAuthorityList(authorities);
+            return new User(username, password, grantedAuthorities);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package org.example.backend.security;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,24 +8,21 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
 
 
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
+    private final TokenService tokenService;
+
+    public JWTAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication auth) throws IOException, ServletException {
         org.springframework.security.core.userdetails.User user = (org.springframework.security.core.userdetails.User) auth.getPrincipal();
-        List<String> roles = new ArrayList<>();
-        user.getAuthorities().forEach(a -> roles.add(a.getAuthority()));
 //construxtion du token
-        String jwt = JWT.create()
-                .withSubject(user.getUsername())
-                .withArrayClaim("roles", roles.toArray(new String[roles.size()]))
-                .withExpiresAt(new Date(System.currentTimeMillis()+SecurityParameters.EXPIRATION_TIME))
-                .sign(Algorithm.HMAC256(SecurityParameters.SECRET));
-        response.addHeader("Authorization", jwt);
+        TokenService.IssuedToken jwt = tokenService.issue(user.getUsername(), user.getAuthorities());
+        response.addHeader("Authorization", jwt.token());
 
     }
 }
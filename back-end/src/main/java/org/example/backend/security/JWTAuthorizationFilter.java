@@ -1,66 +1,80 @@
 package org.example.backend.security;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.interfaces.DecodedJWT;
-
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 public class JWTAuthorizationFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JWTAuthorizationFilter.class);
+    private static final String VERIFY_PATH = "/api/auth/verify";
+    private final TokenEngine tokenEngine;
+    private final TokenRevocationStore revocationStore;
+
+    public JWTAuthorizationFilter(TokenEngine tokenEngine, TokenRevocationStore revocationStore) {
+        this.tokenEngine = tokenEngine;
+        this.revocationStore = revocationStore;
+    }
+
+    // A stale access token must not block the endpoints that replace it
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return path.equals("/api/auth/refresh") || path.equals("/api/auth/login");
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String jwt = request.getHeader("Authorization");
-        if(jwt==null || !jwt.startsWith(SecurityParameters.PREFIX)){
+        String header = request.getHeader("Authorization");
+        if(header==null || !header.startsWith(SecurityParameters.PREFIX)){
             filterChain.doFilter(request, response);
             return;
         }
 
+        Authentication user = null;
+        String error = null;
         try {
-            jwt = jwt.substring(SecurityParameters.PREFIX.length()).trim();
-            
-            if(jwt.isEmpty()) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("{\"error\":\"Empty JWT token\"}");
-                return;
+            // Bounds of the trimmed token inside the header; the token is not copied out
+            int start = SecurityParameters.PREFIX.length();
+            int end = header.length();
+            while (start < end && header.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && header.charAt(end - 1) <= ' ') {
+                end--;
             }
             
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(SecurityParameters.SECRET)).build();
-            DecodedJWT decodedJWT = verifier.verify(jwt);
-            String username = decodedJWT.getSubject();
-            List<String> roles = decodedJWT.getClaims().get("roles").asList(String.class);
-            Collection<GrantedAuthority> authorities = new ArrayList<>();
-            for(String role : roles){
-                String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-                authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
+            if(start == end) {
+                error = "Empty JWT token";
+            } else {
+                user = tokenEngine.authenticate(header, start, end);
+                if (user.getDetails() instanceof TokenClaims claims && revocationStore.isRevoked(claims.jti())) {
+                    error = "Token has been revoked";
+                }
             }
-            UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(username, null, authorities);
-            SecurityContextHolder.getContext().setAuthentication(user);
         } catch (Exception e) {
-            System.err.println("JWT Authentication failed: " + e.getMessage());
-            System.err.println("Original Authorization header: " + request.getHeader("Authorization"));
-            System.err.println("Extracted JWT token: " + jwt);
-            
+            // Never log the header: it carries the bearer token
+            log.debug("JWT authentication failed: {}", e.getMessage());
+            error = "Invalid JWT token: " + e.getMessage();
+        }
+
+        // /verify answers a bad token itself, in the body its clients read, so it goes on unauthenticated
+        if (error == null) {
+            SecurityContextHolder.getContext().setAuthentication(user);
+        } else if (!request.getServletPath().equals(VERIFY_PATH)) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
-            response.getWriter().write("{\"error\":\"Invalid JWT token: " + e.getMessage() + "\"}");
+            response.getWriter().write("{\"error\":\"" + error + "\"}");
             return;
         }
-        
         filterChain.doFilter(request, response);
     }
 }
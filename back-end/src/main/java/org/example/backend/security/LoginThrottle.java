@@ -0,0 +1,153 @@
+package org.example.backend.security;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rate-limits login attempts per client address and per username before any user lookup or
+ * password compare happens. Each key holds a lock-free token bucket; buckets that have refilled
+ * completely carry no state and are dropped, and each side tracks at most {@link #MAX_TRACKED_KEYS}.
+ */
+@Component
+public class LoginThrottle {
+
+    static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final Limiter addresses;
+    private final Limiter usernames;
+    private final LongSupplier nanoClock;
+    private final Counter addressRejections;
+    private final Counter usernameRejections;
+
+    @Autowired
+    public LoginThrottle(@Value("${security.login-throttle.ip.burst:20}") int addressBurst,
+                         @Value("${security.login-throttle.ip.per-minute:60}") int addressPerMinute,
+                         @Value("${security.login-throttle.username.burst:5}") int usernameBurst,
+                         @Value("${security.login-throttle.username.per-minute:5}") int usernamePerMinute,
+                         MeterRegistry meterRegistry) {
+        this(addressBurst, addressPerMinute, usernameBurst, usernamePerMinute, MAX_TRACKED_KEYS,
+                meterRegistry, System::nanoTime);
+    }
+
+    LoginThrottle(int addressBurst, int addressPerMinute, int usernameBurst, int usernamePerMinute,
+                  int maxTrackedKeys, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.addresses = new Limiter(addressBurst, addressPerMinute, maxTrackedKeys);
+        this.usernames = new Limiter(usernameBurst, usernamePerMinute, maxTrackedKeys);
+        this.nanoClock = nanoClock;
+        this.addressRejections = Counter.builder("security.login.throttled")
+                .tag("key", "ip")
+                .description("Login attempts refused because the client address was over its limit")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder("security.login.throttled")
+                .tag("key", "username")
+                .description("Login attempts refused because the username was over its limit")
+                .register(meterRegistry);
+        Gauge.builder("security.login.throttle.keys", this, LoginThrottle::trackedKeys)
+                .description("Client addresses and usernames with a partially drained bucket")
+                .register(meterRegistry);
+    }
+
+    public void acquire(String username, String clientAddress) {
+        long now = nanoClock.getAsLong();
+        long waitNanos = addresses.tryAcquire(clientAddress == null ? "" : clientAddress, now);
+        if (waitNanos > 0) {
+            addressRejections.increment();
+            throw new LoginThrottledException(toRetryAfterSeconds(waitNanos));
+        }
+        // Usernames are matched case-insensitively by the database, so the limit is too
+        waitNanos = usernames.tryAcquire(username == null ? "" : username.toLowerCase(Locale.ROOT), now);
+        if (waitNanos > 0) {
+            usernameRejections.increment();
+            throw new LoginThrottledException(toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.purge-interval-ms:60000}")
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        addresses.evictIdle(now);
+        usernames.evictIdle(now);
+    }
+
+    int trackedKeys() {
+        return addresses.size() + usernames.size();
+    }
+
+    private static int toRetryAfterSeconds(long waitNanos) {
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Token bucket kept as a single "theoretical arrival time" (GCRA): the instant at which the
+     * bucket would be full again. Taking a token pushes it forward by one refill interval, and the
+     * attempt is allowed while that stays within {@code burst} intervals of now.
+     */
+    static final class Limiter {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final int maxKeys;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        Limiter(int burst, int perMinute, int maxKeys) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.burstNanos = intervalNanos * burst;
+            this.maxKeys = maxKeys;
+        }
+
+        // Returns 0 when a token was taken, otherwise how long until one is available
+        long tryAcquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys) {
+                    evict(now);
+                }
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            while (true) {
+                long arrival = bucket.get();
+                long next = Math.max(arrival, now) + intervalNanos;
+                long allowedAt = next - burstNanos;
+                if (allowedAt > now) {
+                    return allowedAt - now;
+                }
+                if (bucket.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void evictIdle(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+        }
+
+        int size() {
+            return buckets.size();
+        }
+
+        // Dropping a bucket that has not refilled forgives that key's recent attempts, so that
+        // only happens when a flood of distinct keys leaves no idle bucket to drop
+        private void evict(long now) {
+            evictIdle(now);
+            int excess = buckets.size() - (maxKeys - maxKeys / 10);
+            Iterator<String> keys = buckets.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.backend.security;
+
+public class LoginThrottledException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public LoginThrottledException(int retryAfterSeconds) {
+        // Thrown for every refused attempt during an attack, so skip the stack trace
+        super("Too many login attempts, please retry later", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
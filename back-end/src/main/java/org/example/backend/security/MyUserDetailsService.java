@@ -3,38 +3,66 @@ package org.example.backend.security;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.example.backend.dao.entity.User;
+import org.example.backend.dao.repository.UserRepository;
 import org.example.backend.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger log = LoggerFactory.getLogger(MyUserDetailsService.class);
     @Autowired
     AccountService accountService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    BoundedUserCache userCache;
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = accountService.findUserByUsername(username);
-        if (user == null) {
-            throw new UsernameNotFoundException(username);
-        }else {
-            List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
-            user.getRoles().forEach(role -> {
-                GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(role.getRole());
-                grantedAuthorities.add(grantedAuthority);
-            });
-            return new org.springframework.security.core.userdetails.User(
-                    user.getUsername(),
-                    user.getPassword(),
-                    grantedAuthorities);
+        UserDetails cached = userCache.getUserFromCache(username);
+        if (cached != null) {
+            return cached;
         }
 
+        long generation = userCache.generation();
+        List<UserRepository.CredentialRow> rows = userRepository.findCredentialsByUsername(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException(username);
+        }
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        rows.forEach(row -> {
+            if (row.getRole() != null) {
+                grantedAuthorities.add(new SimpleGrantedAuthority(row.getRole()));
+            }
+        });
+        UserDetails user = new org.springframework.security.core.userdetails.User(
+                rows.get(0).getUsername(),
+                rows.get(0).getPassword(),
+                grantedAuthorities);
+        userCache.putUserInCache(user, generation);
+        return user;
     }
 
-
+    // Called by the authentication provider after a successful login whose stored hash is outdated
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            accountService.updatePassword(user.getUsername(), newPassword);
+        } catch (RuntimeException e) {
+            // The login already succeeded; the upgrade is retried on the next one
+            log.warn("Could not upgrade a stale password hash; it is retried on the next login", e);
+            return user;
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
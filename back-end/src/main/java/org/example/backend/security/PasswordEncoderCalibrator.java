@@ -0,0 +1,137 @@
+package org.example.backend.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the application's {@link DelegatingPasswordEncoder}. At startup the configured algorithm
+ * is timed once at its minimum cost and the work factor is scaled towards the latency target, so
+ * the cost of a login is chosen from a measurement on the machine we actually run on.
+ *
+ * <p>Hashes written before this encoder existed are bare BCrypt strings; they still match and are
+ * flagged for upgrade, as is anything hashed with another algorithm or a lower cost.
+ */
+@Component
+public class PasswordEncoderCalibrator {
+
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2";
+    static final String ARGON2 = "argon2";
+
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+
+    // PBKDF2 hashes do not record their iteration count, so each count we may use gets its own id
+    static final int PBKDF2_BASE_ITERATIONS = 310_000;
+    static final int PBKDF2_LADDER_STEPS = 4;
+
+    static final int ARGON2_SALT_LENGTH = 16;
+    static final int ARGON2_HASH_LENGTH = 32;
+    static final int ARGON2_PARALLELISM = 1;
+    static final int ARGON2_MEMORY_KB = 1 << 14;
+    static final int MIN_ARGON2_ITERATIONS = 2;
+    static final int MAX_ARGON2_ITERATIONS = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderCalibrator.class);
+
+    private final String algorithm;
+    private final long targetMillis;
+
+    public PasswordEncoderCalibrator(@Value("${security.password-hashing.algorithm:bcrypt}") String algorithm,
+                                     @Value("${security.password-hashing.target-ms:50}") long targetMillis) {
+        this.algorithm = algorithm;
+        this.targetMillis = targetMillis;
+    }
+
+    public PasswordEncoder createEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        int bcryptStrength = BCRYPT.equals(algorithm) ? calibrateBcrypt() : MIN_BCRYPT_STRENGTH;
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        encoders.put(BCRYPT, bcrypt);
+        for (int step = 0; step < PBKDF2_LADDER_STEPS; step++) {
+            int iterations = PBKDF2_BASE_ITERATIONS << step;
+            encoders.put(pbkdf2Id(iterations), pbkdf2(iterations));
+        }
+        int argon2Iterations = ARGON2.equals(algorithm) ? calibrateArgon2() : MIN_ARGON2_ITERATIONS;
+        encoders.put(ARGON2, argon2(argon2Iterations));
+
+        String idForEncode = switch (algorithm) {
+            case BCRYPT -> BCRYPT;
+            case PBKDF2 -> pbkdf2Id(calibratePbkdf2());
+            case ARGON2 -> ARGON2;
+            default -> throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        };
+        log.info("Password hashing: encoding with {}{}{} for a {} ms target", "{" + idForEncode + "}",
+                BCRYPT.equals(algorithm) ? " strength " + bcryptStrength : "",
+                ARGON2.equals(algorithm) ? " iterations " + argon2Iterations : "",
+                targetMillis);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    int calibrateBcrypt() {
+        double baseMillis = measureMillis(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH));
+        return MIN_BCRYPT_STRENGTH + doublings(baseMillis, targetMillis, MAX_BCRYPT_STRENGTH - MIN_BCRYPT_STRENGTH);
+    }
+
+    int calibratePbkdf2() {
+        double baseMillis = measureMillis(pbkdf2(PBKDF2_BASE_ITERATIONS));
+        return PBKDF2_BASE_ITERATIONS << doublings(baseMillis, targetMillis, PBKDF2_LADDER_STEPS - 1);
+    }
+
+    int calibrateArgon2() {
+        double baseMillis = measureMillis(argon2(MIN_ARGON2_ITERATIONS));
+        long scaled = (long) (MIN_ARGON2_ITERATIONS * targetMillis / Math.max(baseMillis, 1e-3));
+        return (int) Math.max(MIN_ARGON2_ITERATIONS, Math.min(MAX_ARGON2_ITERATIONS, scaled));
+    }
+
+    // How many times the cost can double from the measured base before passing the target
+    static int doublings(double baseMillis, long targetMillis, int maxDoublings) {
+        int doublings = 0;
+        double millis = baseMillis;
+        while (doublings < maxDoublings && millis * 2 <= targetMillis) {
+            millis *= 2;
+            doublings++;
+        }
+        return doublings;
+    }
+
+    static String pbkdf2Id(int iterations) {
+        return PBKDF2 + "@" + iterations;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                ARGON2_MEMORY_KB, iterations);
+    }
+
+    // One warm-up, then the fastest of three runs so a GC pause does not inflate the cost
+    private static double measureMillis(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulkhead for password hashing. Login, registration, user creation and password changes
+ * run their BCrypt work here, so a login storm can only queue up to a fixed depth instead
+ * of pinning every Tomcat worker; past that depth callers are turned away immediately.
+ *
+ * <p>Each task runs with the submitting thread's security context. Writes committed there are
+ * then attributed to the caller, so the read-your-writes window pins them to the primary.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final DelegatingSecurityContextExecutor withCallerContext;
+    private final int retryAfterSeconds;
+    private final Timer hashLatency;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(@Value("${security.password-hashing.threads:0}") int threads,
+                                   @Value("${security.password-hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${security.password-hashing.retry-after-seconds:1}") int retryAfterSeconds,
+                                   MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.withCallerContext = new DelegatingSecurityContextExecutor(executor);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.hashLatency = Timer.builder("security.password.hashing")
+                .description("Time spent running password-hashing tasks")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("security.password.hashing.rejected")
+                .description("Password-hashing tasks refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Password-hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password-hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> hashLatency.record(task), withCallerContext);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.backend.security;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingRejectedException(int retryAfterSeconds) {
+        super("Too many password operations in progress, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
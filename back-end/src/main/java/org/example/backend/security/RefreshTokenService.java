@@ -0,0 +1,99 @@
+package org.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.example.backend.dao.entity.RefreshToken;
+import org.example.backend.dao.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Opaque, rotating refresh tokens. Only a SHA-256 digest is stored, so a refresh is one
+ * indexed lookup instead of a BCrypt compare. Presenting a token that was already rotated
+ * (or revoked) is treated as theft and revokes every token of its login family.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expirationMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:" + SecurityParameters.REFRESH_EXPIRATION_TIME + "}") long expirationMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationMillis = expirationMillis;
+    }
+
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    public Optional<Rotation> rotate(String presentedToken) {
+        if (presentedToken == null || presentedToken.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(presentedToken));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken refreshToken = stored.get();
+        if (refreshToken.isRevoked() || refreshTokenRepository.markUsed(refreshToken.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(refreshToken.getFamily());
+            return Optional.empty();
+        }
+        if (refreshToken.getExpiresAt() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        String next = issue(refreshToken.getUsername(), refreshToken.getFamily());
+        return Optional.of(new Rotation(refreshToken.getUsername(), next));
+    }
+
+    public void revoke(String presentedToken) {
+        refreshTokenRepository.findByTokenHash(hash(presentedToken))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamily()));
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(System.currentTimeMillis());
+    }
+
+    private String issue(String username, String family) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .family(family)
+                .expiresAt(System.currentTimeMillis() + expirationMillis)
+                .build());
+        return token;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+}
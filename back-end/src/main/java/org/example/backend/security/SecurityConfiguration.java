@@ -3,6 +3,8 @@ package org.example.backend.security;
 import java.util.Arrays;
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,7 +15,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -26,9 +28,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfiguration {
 
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final TokenEngine tokenEngine;
+    private final TokenRevocationStore revocationStore;
 
-    public SecurityConfiguration(AuthenticationConfiguration authenticationConfiguration) {
+    public SecurityConfiguration(AuthenticationConfiguration authenticationConfiguration, TokenEngine tokenEngine,
+                                 TokenRevocationStore revocationStore) {
         this.authenticationConfiguration = authenticationConfiguration;
+        this.tokenEngine = tokenEngine;
+        this.revocationStore = revocationStore;
     }
 
     @Bean
@@ -39,17 +46,21 @@ public class SecurityConfiguration {
                 .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(
                         requests -> requests
+                                // Async results are re-dispatched after the original request was authorized
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/api/auth/register").permitAll()
                                 .requestMatchers("/api/auth/login").permitAll()
+                                .requestMatchers("/api/auth/refresh").permitAll()
                                 .requestMatchers("/api/auth/verify").permitAll()
                                 .requestMatchers("/api/auth/logout").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                                 .requestMatchers(HttpMethod.GET, "/api/auth/me").authenticated()
                                 .requestMatchers("/api/users/**").authenticated()
                                 .requestMatchers("/api/roles/**").authenticated()
                                 .requestMatchers("/api/profile/**").authenticated()
                                 .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JWTAuthorizationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JWTAuthorizationFilter(tokenEngine, revocationStore), UsernamePasswordAuthenticationFilter.class);
         return httpSecurity.build();
     }
 
@@ -59,8 +70,8 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordEncoderCalibrator passwordEncoderCalibrator) {
+        return passwordEncoderCalibrator.createEncoder();
     }
 
     @Bean
@@ -70,7 +81,7 @@ public class SecurityConfiguration {
         configuration.applyPermitDefaultValues();
         configuration.addAllowedOrigin("http://localhost:3000");
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Retry-After"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
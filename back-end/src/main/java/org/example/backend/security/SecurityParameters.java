@@ -1,7 +1,8 @@
 package org.example.backend.security;
 
 public class SecurityParameters {
-    public static final long EXPIRATION_TIME = 3*24*60*60*1000; //3 days
-    public static final String SECRET = "YahyaHahn";
+    // Defaults for jwt.expiration and jwt.refresh-expiration
+    public static final long EXPIRATION_TIME = 15*60*1000; //15 minutes, clients renew through /api/auth/refresh
+    public static final long REFRESH_EXPIRATION_TIME = 3L*24*60*60*1000; //3 days
     public static final String PREFIX = "Bearer ";
 }
@@ -0,0 +1,179 @@
+package org.example.backend.security;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.backend.dao.entity.SigningKey;
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * ES256 key ring shared through the {@code signing_key} table. Every node signs with its own
+ * in-memory private key, rotated on a schedule, and publishes only the public half under a fresh
+ * {@code kid}. Verification keeps one {@link JWTVerifier} per {@code kid}; a {@code kid} minted by
+ * another node is picked up by reloading the table, at most once per {@link #RELOAD_INTERVAL}.
+ */
+@Component
+public class SigningKeyRing {
+
+    static final String ALGORITHM = "ES256";
+    static final long RELOAD_INTERVAL = 10_000;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final long rotationMillis;
+    private final long tokenLifetimeMillis;
+    private final ConcurrentHashMap<String, KnownKey> knownKeys = new ConcurrentHashMap<>();
+    private volatile ActiveKey active;
+    private volatile long lastReload;
+
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                          @Value("${security.jwt.key-rotation-ms:86400000}") long rotationMillis,
+                          @Value("${jwt.expiration:" + SecurityParameters.EXPIRATION_TIME + "}") long tokenLifetimeMillis) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.rotationMillis = rotationMillis;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        rotate();
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.key-rotation-ms:86400000}",
+            initialDelayString = "${security.jwt.key-rotation-ms:86400000}")
+    public synchronized void rotate() {
+        KeyPair keyPair = generateKeyPair();
+        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+        String kid = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        // Tokens signed just before the next rotation stay valid for one more token lifetime
+        long expiresAt = now + rotationMillis + 2 * tokenLifetimeMillis;
+
+        signingKeyRepository.save(new SigningKey(kid, ALGORITHM, publicKey.getEncoded(), now, expiresAt));
+        knownKeys.put(kid, new KnownKey(publicKey, verifier(publicKey), expiresAt));
+        active = new ActiveKey(kid, Algorithm.ECDSA256(publicKey, (ECPrivateKey) keyPair.getPrivate()));
+    }
+
+    public ActiveKey active() {
+        return active;
+    }
+
+    public JWTVerifier verifierFor(String kid) throws JWTVerificationException {
+        if (kid == null) {
+            throw new JWTVerificationException("Token has no key id");
+        }
+        KnownKey key = knownKeys.get(kid);
+        if (key == null && System.currentTimeMillis() - lastReload >= RELOAD_INTERVAL) {
+            reload();
+            key = knownKeys.get(kid);
+        }
+        if (key == null) {
+            throw new JWTVerificationException("Unknown signing key " + kid);
+        }
+        return key.verifier();
+    }
+
+    // JWKS representation of every key that may still have valid tokens, newest last
+    public List<Map<String, Object>> publishedKeys() {
+        if (System.currentTimeMillis() - lastReload >= RELOAD_INTERVAL) {
+            reload();
+        }
+        List<Map<String, Object>> keys = new ArrayList<>();
+        knownKeys.forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("use", "sig");
+            jwk.put("alg", ALGORITHM);
+            jwk.put("kid", kid);
+            jwk.put("x", coordinate(key.publicKey().getW().getAffineX()));
+            jwk.put("y", coordinate(key.publicKey().getW().getAffineY()));
+            keys.add(jwk);
+        });
+        return keys;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.key-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        knownKeys.values().removeIf(key -> key.expiresAt() <= now);
+        signingKeyRepository.deleteExpired(now);
+    }
+
+    int knownKeyCount() {
+        return knownKeys.size();
+    }
+
+    private synchronized void reload() {
+        long now = System.currentTimeMillis();
+        for (SigningKey signingKey : signingKeyRepository.findByExpiresAtGreaterThan(now)) {
+            if (!knownKeys.containsKey(signingKey.getKid()) && ALGORITHM.equals(signingKey.getAlgorithm())) {
+                ECPublicKey publicKey = decodePublicKey(signingKey.getPublicKey());
+                knownKeys.put(signingKey.getKid(),
+                        new KnownKey(publicKey, verifier(publicKey), signingKey.getExpiresAt()));
+            }
+        }
+        lastReload = now;
+    }
+
+    private static JWTVerifier verifier(ECPublicKey publicKey) {
+        return JWT.require(Algorithm.ECDSA256(publicKey, null)).build();
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC P-256 not available", e);
+        }
+    }
+
+    private static ECPublicKey decodePublicKey(byte[] encoded) {
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Stored signing key is not a valid EC public key", e);
+        }
+    }
+
+    // Unsigned, left-padded to the 32-byte field size as RFC 7518 requires
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, padded, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+
+    public record ActiveKey(String kid, Algorithm algorithm) {
+    }
+
+    private record KnownKey(ECPublicKey publicKey, JWTVerifier verifier, long expiresAt) {
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.security;
+
+import java.util.List;
+
+// Attached as the details of every token-based Authentication so controllers can read
+// the verified claims without decoding the header again.
+public record TokenClaims(String jti, String username, List<String> roles, long expiresAt) {
+}
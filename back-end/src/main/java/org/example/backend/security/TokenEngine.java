@@ -0,0 +1,185 @@
+package org.example.backend.security;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Verifies bearer tokens through {@link TokenService} and remembers the resulting
+ * {@link Authentication} per token digest until the token expires, so a repeated
+ * token skips both the signature check and claim parsing.
+ *
+ * <p>A cache hit allocates nothing: the token is read in place from the header, hashed
+ * through per-thread buffers and looked up with a reusable probe key.
+ */
+@Component
+public class TokenEngine {
+
+    static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final TokenService tokenService;
+    private final AuthorityRegistry authorityRegistry;
+    private final ConcurrentHashMap<TokenDigest, CachedAuthentication> cache = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private final Counter hits;
+    private final Counter misses;
+
+    public TokenEngine(TokenService tokenService, AuthorityRegistry authorityRegistry, MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.authorityRegistry = authorityRegistry;
+        this.hits = Counter.builder("security.token.cache")
+                .tag("result", "hit")
+                .description("Bearer tokens resolved from the decoded-token cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("security.token.cache")
+                .tag("result", "miss")
+                .description("Bearer tokens that needed a signature check")
+                .register(meterRegistry);
+        Gauge.builder("security.token.cache.size", cache, ConcurrentHashMap::size)
+                .description("Decoded tokens currently cached")
+                .register(meterRegistry);
+    }
+
+    public Authentication authenticate(String token) throws JWTVerificationException {
+        return authenticate(token, 0, token.length());
+    }
+
+    // Authenticates the token found at source[start, end) without copying it out on a cache hit
+    public Authentication authenticate(String source, int start, int end) throws JWTVerificationException {
+        TokenDigest probe = digest(source, start, end);
+        long now = System.currentTimeMillis();
+        CachedAuthentication cached = cache.get(probe);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                hits.increment();
+                return cached.authentication();
+            }
+            cache.remove(probe, cached);
+        }
+        misses.increment();
+
+        TokenDigest key = probe.copy();
+        String token = start == 0 && end == source.length() ? source : source.substring(start, end);
+        TokenClaims claims = tokenService.claims(tokenService.verify(token));
+        Authentication authentication = toAuthentication(claims);
+        if (claims.expiresAt() > 0) {
+            if (cache.size() >= MAX_CACHED_TOKENS) {
+                evict(now);
+            }
+            cache.put(key, new CachedAuthentication(authentication, claims.expiresAt()));
+        }
+        return authentication;
+    }
+
+    public void invalidate(String token) {
+        cache.remove(digest(token, 0, token.length()));
+    }
+
+    int cachedTokens() {
+        return cache.size();
+    }
+
+    private Authentication toAuthentication(TokenClaims claims) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                claims.username(), null, authorityRegistry.authoritiesFor(claims.roles()));
+        authentication.setDetails(claims);
+        return authentication;
+    }
+
+    // A token dropped here is only verified again on its next request, so shedding in
+    // iteration order is safe
+    private void evict(long now) {
+        cache.values().removeIf(entry -> entry.expiresAt() <= now);
+        int excess = cache.size() - (MAX_CACHED_TOKENS - MAX_CACHED_TOKENS / 10);
+        Iterator<TokenDigest> keys = cache.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // Fills this thread's probe key with the SHA-256 of source[start, end); the probe must be copied before storing
+    private TokenDigest digest(String source, int start, int end) {
+        Scratch buffers = scratch.get();
+        int length = end - start;
+        if (buffers.input.length < length) {
+            buffers.input = new byte[Math.max(length, buffers.input.length * 2)];
+        }
+        byte[] input = buffers.input;
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(start + i);
+            // Same mapping as String.getBytes(US_ASCII): nothing non-ASCII can alias a real token
+            input[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        try {
+            buffers.sha256.update(input, 0, length);
+            buffers.sha256.digest(buffers.hash, 0, buffers.hash.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        buffers.probe.high = toLong(buffers.hash, 0);
+        buffers.probe.low = toLong(buffers.hash, 8);
+        return buffers.probe;
+    }
+
+    private static long toLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Map keys are never mutated; only each thread's probe instance is rewritten between lookups
+    private static final class TokenDigest {
+        private long high;
+        private long low;
+
+        TokenDigest copy() {
+            TokenDigest copy = new TokenDigest();
+            copy.high = high;
+            copy.low = low;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TokenDigest digest && digest.high == high && digest.low == low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high ^ low);
+        }
+    }
+
+    private static final class Scratch {
+        private final MessageDigest sha256 = newSha256();
+        private final byte[] hash = new byte[32];
+        private final TokenDigest probe = new TokenDigest();
+        private byte[] input = new byte[1024];
+    }
+
+    private record CachedAuthentication(Authentication authentication, long expiresAt) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.backend.dao.entity.RevokedToken;
+import org.example.backend.dao.repository.RevokedTokenRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Revoked token ids, checked on every authenticated request. A Bloom filter answers the
+ * common "not revoked" case lock-free; only its positives consult the exact set, whose
+ * entries are dropped once the token would have expired anyway. The persisted
+ * {@code revoked_token} table lets every node rebuild both on startup.
+ */
+@Component
+public class TokenRevocationStore {
+
+    static final int EXPECTED_REVOCATIONS = 100_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile JtiBloomFilter bloomFilter = new JtiBloomFilter(EXPECTED_REVOCATIONS);
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        revoked.clear();
+        revokedTokenRepository.findByExpiresAtGreaterThan(now)
+                .forEach(token -> revoked.put(token.getJti(), token.getExpiresAt()));
+        bloomFilter = filterFor(revoked);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public synchronized void revoke(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+        revoked.put(jti, expiresAt);
+        bloomFilter.add(jti);
+    }
+
+    // Bloom filters cannot forget, so purging swaps in a filter built from the survivors.
+    // Writers are serialised so a revocation can never land in a filter that is being replaced.
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:600000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            bloomFilter = filterFor(revoked);
+        }
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private static JtiBloomFilter filterFor(ConcurrentHashMap<String, Long> entries) {
+        JtiBloomFilter filter = new JtiBloomFilter(Math.max(EXPECTED_REVOCATIONS, entries.size() * 2));
+        entries.keySet().forEach(filter::add);
+        return filter;
+    }
+}
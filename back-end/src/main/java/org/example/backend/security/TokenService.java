@@ -0,0 +1,61 @@
+package org.example.backend.security;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+@Service
+public class TokenService {
+
+    static final String ROLES_CLAIM = "roles";
+
+    private final SigningKeyRing signingKeyRing;
+    private final long expirationMillis;
+
+    public TokenService(SigningKeyRing signingKeyRing,
+                        @Value("${jwt.expiration:" + SecurityParameters.EXPIRATION_TIME + "}") long expirationMillis) {
+        this.signingKeyRing = signingKeyRing;
+        this.expirationMillis = expirationMillis;
+    }
+
+    public IssuedToken issue(String username, Collection<? extends GrantedAuthority> authorities) {
+        SigningKeyRing.ActiveKey key = signingKeyRing.active();
+        long expiresAt = System.currentTimeMillis() + expirationMillis;
+        String token = JWT.create()
+                .withKeyId(key.kid())
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(username)
+                .withClaim(ROLES_CLAIM, authorities.stream().map(GrantedAuthority::getAuthority).toList())
+                .withExpiresAt(new Date(expiresAt))
+                .sign(key.algorithm());
+        return new IssuedToken(token, expiresAt);
+    }
+
+    public DecodedJWT verify(String token) throws JWTVerificationException {
+        // The kid picks the verifier; the verifier then re-checks alg, signature and expiry
+        DecodedJWT decodedJWT = JWT.decode(token);
+        return signingKeyRing.verifierFor(decodedJWT.getKeyId()).verify(decodedJWT);
+    }
+
+    public TokenClaims claims(DecodedJWT decodedJWT) {
+        List<String> roles = decodedJWT.getClaim(ROLES_CLAIM).asList(String.class);
+        Date expiresAt = decodedJWT.getExpiresAt();
+        return new TokenClaims(
+                decodedJWT.getId(),
+                decodedJWT.getSubject(),
+                roles == null ? List.of() : List.copyOf(roles),
+                expiresAt == null ? 0 : expiresAt.getTime());
+    }
+
+    public record IssuedToken(String token, long expiresAt) {
+    }
+}
@@ -16,4 +16,5 @@ public interface AccountService {
     User addRoleToUser(User user, Role role);
     User removeRoleFromUser(User user, Role role);
     User findUserByUsername(String username);
+    void updatePassword(String username, String encodedPassword);
 }
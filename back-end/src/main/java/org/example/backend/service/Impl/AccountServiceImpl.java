@@ -1,14 +1,20 @@
 package org.example.backend.service.Impl;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.example.backend.dao.entity.Role;
 import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserRow;
 import org.example.backend.dao.repository.RoleRepository;
 import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.security.BoundedUserCache;
 import org.example.backend.service.AccountService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserSearchIndex;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -19,12 +25,24 @@ import lombok.AllArgsConstructor;
 public class AccountServiceImpl implements AccountService {
     UserRepository userRepository;
     RoleRepository roleRepository;
-    BCryptPasswordEncoder bCryptPasswordEncoder;
+    PasswordEncoder passwordEncoder;
+    BoundedUserCache userCache;
+    RoleRegistry roleRegistry;
+    UserSearchIndex userSearchIndex;
+    UserDirectory userDirectory;
     @Override
     public User saveUser(User user) {
-        user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        // Saved with its default role in place so the returned user needs no lazy load later
+        Integer roleId = roleRegistry.idOf("ORDINARY")
+                .orElseThrow(() -> new RuntimeException("Role not found: ORDINARY"));
+        Set<Role> roles = new HashSet<>();
+        roles.add(roleRepository.getReferenceById(roleId));
+        user.setRoles(roles);
         user=userRepository.save(user);
-        addRoleToUser(user,roleRepository.findById("ORDINARY").get());
+        userCache.evictAfterCommit(user.getUsername());
+        userSearchIndex.putAfterCommit(new UserRow(user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName()));
+        userDirectory.putAfterCommit(user);
         return user;
     }
 
@@ -47,12 +65,15 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public User addRoleToUser(User user, Role role) {
         try {
-            if(user.getRoles()==null) user.setRoles(new ArrayList<>());
+            if(user.getRoles()==null) user.setRoles(new HashSet<>());
             user.getRoles().add(role);
         }catch (Exception e) {
             System.out.println(e.getMessage());
         }
-        return userRepository.save(user);
+        userCache.evictAfterCommit(user.getUsername());
+        User saved = userRepository.save(user);
+        userDirectory.putAfterCommit(saved);
+        return saved;
     }
 
     @Override
@@ -62,11 +83,20 @@ public class AccountServiceImpl implements AccountService {
         }catch (Exception e) {
             System.out.println(e.getMessage());
         }
-        return userRepository.save(user);
+        userCache.evictAfterCommit(user.getUsername());
+        User saved = userRepository.save(user);
+        userDirectory.putAfterCommit(saved);
+        return saved;
     }
 
     @Override
     public User findUserByUsername(String username) {
-        return userRepository.findById(username).orElse(null);
+        return userRepository.findByUsername(username).orElse(null);
+    }
+
+    @Override
+    public void updatePassword(String username, String encodedPassword) {
+        userRepository.updatePassword(username, encodedPassword);
+        userCache.evictAfterCommit(username);
     }
 }
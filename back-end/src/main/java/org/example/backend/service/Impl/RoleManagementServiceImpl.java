@@ -4,12 +4,16 @@ import org.example.backend.dao.entity.Role;
 import org.example.backend.dao.repository.RoleRepository;
 import org.example.backend.dto.RoleDto;
 import org.example.backend.mapper.RoleMapper;
+import org.example.backend.security.BoundedUserCache;
 import org.example.backend.service.RoleManagementService;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -21,35 +25,47 @@ public class RoleManagementServiceImpl implements RoleManagementService {
     @Autowired
     private RoleMapper roleMapper;
 
+    @Autowired
+    private BoundedUserCache userCache;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
     @Override
     public RoleDto createRole(RoleDto roleDto) {
-        if (roleRepository.existsById(roleDto.getRole())) {
+        if (roleRepository.existsByRole(roleDto.getRole())) {
             throw new RuntimeException("Role already exists: " + roleDto.getRole());
         }
 
         Role role = roleMapper.toEntity(roleDto);
         Role savedRole = roleRepository.save(role);
+        roleRegistry.reloadAfterCommit();
         return roleMapper.toDto(savedRole);
     }
 
     @Override
     public void deleteRole(String roleName) {
-        if (!roleRepository.existsById(roleName)) {
+        Optional<Integer> roleId = roleRegistry.idOf(roleName);
+        if (roleRepository.deleteByRole(roleName) == 0) {
             throw new RuntimeException("Role not found: " + roleName);
         }
-        roleRepository.deleteById(roleName);
+        roleRegistry.reloadAfterCommit();
+        // Any cached user may have held the role
+        userCache.clearAfterCommit();
+        roleId.ifPresent(userDirectory::dropRoleAfterCommit);
     }
 
     @Override
     public RoleDto getRoleByName(String roleName) {
-        Role role = roleRepository.findById(roleName)
+        return roleRegistry.find(roleName)
                 .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
-        return roleMapper.toDto(role);
     }
 
     @Override
     public List<RoleDto> getAllRoles() {
-        List<Role> roles = roleRepository.findAll();
-        return roleMapper.toDtoList(roles);
+        return roleRegistry.all();
     }
 }
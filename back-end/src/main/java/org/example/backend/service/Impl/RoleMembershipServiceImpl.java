@@ -0,0 +1,187 @@
+package org.example.backend.service.Impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.example.backend.dto.RoleMemberFilterDto;
+import org.example.backend.dto.RoleMembersDto;
+import org.example.backend.dto.RoleMembersResultDto;
+import org.example.backend.security.BoundedUserCache;
+import org.example.backend.service.RoleMembershipService;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Grants or revokes a role for many users with set-based statements, {@code roles.members.chunk-size}
+ * usernames at a time, each chunk in its own transaction. A chunk costs one {@code INSERT ... SELECT}
+ * or {@code DELETE ... IN}, plus one keyset select of the matching usernames when a filter is used.
+ * Existing memberships are skipped by the statement itself, so repeating a request changes nothing.
+ *
+ * <p>The statements are Hibernate native queries synchronized on {@code user_roles}, so Hibernate
+ * evicts the cached {@code User.roles} collections when each chunk completes.
+ */
+@Service
+public class RoleMembershipServiceImpl implements RoleMembershipService {
+
+    private static final String USER_ROLES = "user_roles";
+
+    private static final String GRANT = "INSERT INTO user_roles (user_id, role_id) "
+            + "SELECT u.id, r.id FROM user u JOIN role r ON r.id = :role "
+            + "WHERE u.username IN (:usernames) "
+            + "AND NOT EXISTS (SELECT 1 FROM user_roles m WHERE m.user_id = u.id AND m.role_id = r.id)";
+    private static final String REVOKE = "DELETE FROM user_roles WHERE role_id = :role "
+            + "AND user_id IN (SELECT u.id FROM user u WHERE u.username IN (:usernames))";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRegistry roleRegistry;
+    private final BoundedUserCache userCache;
+    private final UserDirectory userDirectory;
+    private final int chunkSize;
+
+    public RoleMembershipServiceImpl(EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     RoleRegistry roleRegistry,
+                                     BoundedUserCache userCache,
+                                     UserDirectory userDirectory,
+                                     @Value("${roles.members.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRegistry = roleRegistry;
+        this.userCache = userCache;
+        this.userDirectory = userDirectory;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public RoleMembersResultDto addMembers(String roleName, RoleMembersDto members) {
+        return apply(roleName, members, true);
+    }
+
+    @Override
+    public RoleMembersResultDto removeMembers(String roleName, RoleMembersDto members) {
+        return apply(roleName, members, false);
+    }
+
+    private RoleMembersResultDto apply(String roleName, RoleMembersDto members, boolean grant) {
+        boolean listed = members.getUsernames() != null;
+        if (listed == (members.getFilter() != null)) {
+            throw new IllegalArgumentException("Give either usernames or a filter");
+        }
+        Integer roleId = roleRegistry.idOf(roleName)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+        long changed = listed ? applyToUsernames(roleId, members.getUsernames(), grant)
+                : applyToFilter(roleId, members.getFilter(), grant);
+        long skipped = listed ? new LinkedHashSet<>(members.getUsernames()).size() - changed : 0;
+        return RoleMembersResultDto.builder()
+                .role(roleName)
+                .changed(changed)
+                .skipped(Math.max(skipped, 0))
+                .build();
+    }
+
+    private long applyToUsernames(Integer roleId, List<String> usernames, boolean grant) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        long changed = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            changed += transactionTemplate.execute(status -> change(roleId, chunk, grant));
+        }
+        return changed;
+    }
+
+    // Walks the matching users in username order; each chunk only selects users the statement will change
+    private long applyToFilter(Integer roleId, RoleMemberFilterDto filter, boolean grant) {
+        MemberFilter where = MemberFilter.of(filter, roleId, grant);
+        long changed = 0;
+        String after = "";
+        while (true) {
+            String from = after;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<String> usernames = where.next(entityManager, from, chunkSize);
+                return new Chunk(usernames, usernames.isEmpty() ? 0 : change(roleId, usernames, grant));
+            });
+            changed += chunk.changed();
+            // A short chunk was the last one; another select would only come back empty
+            if (chunk.usernames().size() < chunkSize) {
+                return changed;
+            }
+            after = chunk.usernames().get(chunk.usernames().size() - 1);
+        }
+    }
+
+    private int change(Integer roleId, List<String> usernames, boolean grant) {
+        Query statement = entityManager.createNativeQuery(grant ? GRANT : REVOKE)
+                .setParameter("role", roleId)
+                .setParameter("usernames", usernames);
+        statement.unwrap(NativeQuery.class).addSynchronizedQuerySpace(USER_ROLES);
+        int rows = statement.executeUpdate();
+        if (rows > 0) {
+            userCache.evictAfterCommit(usernames);
+            // Every listed user that exists holds (or lacks) the role once this commits
+            if (grant) {
+                userDirectory.grantAfterCommit(roleId, usernames);
+            } else {
+                userDirectory.revokeAfterCommit(roleId, usernames);
+            }
+        }
+        return rows;
+    }
+
+    private record Chunk(List<String> usernames, int changed) {
+    }
+
+    // The WHERE clause of a filter, with its parameters; only the fields that are set take part
+    private record MemberFilter(String sql, Map<String, Object> parameters) {
+
+        static MemberFilter of(RoleMemberFilterDto filter, Integer roleId, boolean grant) {
+            StringBuilder sql = new StringBuilder("SELECT u.username FROM user u WHERE u.username > :after");
+            Map<String, Object> parameters = new HashMap<>();
+            if (filter.getUsernamePrefix() != null) {
+                sql.append(" AND u.username LIKE :prefix ESCAPE '!'");
+                parameters.put("prefix", escapeLike(filter.getUsernamePrefix()) + "%");
+            }
+            if (filter.getEmailDomain() != null) {
+                sql.append(" AND u.email LIKE :domain ESCAPE '!'");
+                parameters.put("domain", "%@" + escapeLike(filter.getEmailDomain()));
+            }
+            if (filter.getRole() != null) {
+                sql.append(" AND EXISTS (SELECT 1 FROM user_roles h JOIN role hr ON hr.id = h.role_id"
+                        + " WHERE h.user_id = u.id AND hr.role = :holding)");
+                parameters.put("holding", filter.getRole());
+            }
+            if (parameters.isEmpty()) {
+                throw new IllegalArgumentException("A filter needs at least one field");
+            }
+            sql.append(grant ? " AND NOT EXISTS" : " AND EXISTS")
+                    .append(" (SELECT 1 FROM user_roles m WHERE m.user_id = u.id AND m.role_id = :role)")
+                    .append(" ORDER BY u.username");
+            parameters.put("role", roleId);
+            return new MemberFilter(sql.toString(), Map.copyOf(parameters));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<String> next(EntityManager entityManager, String after, int limit) {
+            Query query = entityManager.createNativeQuery(sql)
+                    .setParameter("after", after)
+                    .setMaxResults(limit);
+            parameters.forEach(query::setParameter);
+            return query.getResultList();
+        }
+
+        private static String escapeLike(String value) {
+            return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        }
+    }
+}
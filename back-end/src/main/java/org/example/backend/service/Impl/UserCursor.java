@@ -0,0 +1,79 @@
+package org.example.backend.service.Impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dto.UserSort;
+
+/**
+ * Position of the last row of a user page: the sort it belongs to plus that row's sort key.
+ * Serialized as base64url so clients treat it as opaque.
+ */
+record UserCursor(UserSort sort, String lastName, String firstName, String email, String username) {
+
+    // Names are required on users; a null is keyed as empty so the cursor can still be written. Email
+    // stays null: older rows may lack one, and they sort apart from every real email
+    static UserCursor after(UserSort sort, UserRow user) {
+        return switch (sort) {
+            case USERNAME -> new UserCursor(sort, null, null, null, user.username());
+            case NAME -> new UserCursor(sort, orEmpty(user.lastName()), orEmpty(user.firstName()), null,
+                    user.username());
+            case EMAIL -> new UserCursor(sort, null, null, user.email(), user.username());
+        };
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(sort.ordinal());
+            switch (sort) {
+                case USERNAME -> out.writeUTF(username);
+                case NAME -> {
+                    out.writeUTF(lastName);
+                    out.writeUTF(firstName);
+                    out.writeUTF(username);
+                }
+                case EMAIL -> {
+                    out.writeBoolean(email != null);
+                    if (email != null) {
+                        out.writeUTF(email);
+                    }
+                    out.writeUTF(username);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static UserCursor decode(String value, UserSort expectedSort) {
+        UserCursor cursor;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(value)))) {
+            UserSort sort = UserSort.values()[in.readUnsignedByte()];
+            cursor = switch (sort) {
+                case USERNAME -> new UserCursor(sort, null, null, null, in.readUTF());
+                case NAME -> new UserCursor(sort, in.readUTF(), in.readUTF(), null, in.readUTF());
+                case EMAIL -> new UserCursor(sort, null, null, in.readBoolean() ? in.readUTF() : null, in.readUTF());
+            };
+            if (in.available() > 0) {
+                throw new IOException("Trailing bytes");
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort().name().toLowerCase());
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.backend.service.Impl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserImportFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes exported users one line at a time to a caller-owned writer, which is never closed here.
+ *
+ * <p>CSV lines have the columns {@code username,email,firstName,lastName,roles}; roles are joined
+ * with {@code ;}. A field holding a comma, quote or line break is quoted, with inner quotes doubled,
+ * which is the quoting {@link UserImportReader} reads back.
+ */
+final class UserExportWriter {
+
+    static final String CSV_HEADER = "username,email,firstName,lastName,roles";
+
+    private final Writer writer;
+    private final UserImportFormat format;
+    private final ObjectWriter json;
+
+    UserExportWriter(Writer writer, UserImportFormat format, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.format = format;
+        this.json = objectMapper.writerFor(UserDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    void header() throws IOException {
+        if (format == UserImportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(UserDto user) throws IOException {
+        if (format == UserImportFormat.NDJSON) {
+            json.writeValue(writer, user);
+        } else {
+            field(user.getUsername());
+            writer.write(',');
+            field(user.getEmail());
+            writer.write(',');
+            field(user.getFirstName());
+            writer.write(',');
+            field(user.getLastName());
+            writer.write(',');
+            StringBuilder roles = new StringBuilder();
+            for (RoleDto role : user.getRoles()) {
+                if (!roles.isEmpty()) {
+                    roles.append(';');
+                }
+                roles.append(role.getRole());
+            }
+            field(roles.toString());
+        }
+        writer.write('\n');
+    }
+
+    private void field(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.backend.service.Impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.example.backend.dto.CreateUserDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.service.UserImportHeaderException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads an import body one line at a time, so the body is never held in memory. A line that
+ * cannot be parsed becomes a row carrying the error; only a bad CSV header stops the import.
+ *
+ * <p>CSV fields may be quoted with {@code "} (a doubled {@code ""} inside quotes is a literal
+ * quote) but may not span lines.
+ */
+final class UserImportReader {
+
+    private static final String[] CSV_COLUMNS = {"username", "password", "email", "firstName", "lastName"};
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectReader json;
+    // CSV only: field index of each of CSV_COLUMNS, read from the header line
+    private int[] columns;
+    private long line;
+
+    UserImportReader(Reader body, UserImportFormat format, ObjectMapper objectMapper) {
+        this.reader = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body);
+        this.format = format;
+        this.json = objectMapper.readerFor(CreateUserDto.class);
+    }
+
+    // The next non-blank line, or null at the end of the body
+    Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == UserImportFormat.CSV && columns == null) {
+                columns = header(text);
+                continue;
+            }
+            try {
+                return new Row(line, format == UserImportFormat.CSV ? csvUser(text) : json.readValue(text), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                return new Row(line, null, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private CreateUserDto csvUser(String text) {
+        List<String> fields = fields(text);
+        String[] values = new String[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            if (columns[i] >= fields.size()) {
+                throw new IllegalArgumentException("Expected a " + CSV_COLUMNS[i] + " column, found only "
+                        + fields.size() + " fields");
+            }
+            values[i] = fields.get(columns[i]);
+        }
+        return new CreateUserDto(values[0], values[1], values[2], values[3], values[4]);
+    }
+
+    private static int[] header(String text) {
+        if (text.charAt(0) == '\uFEFF') {
+            text = text.substring(1);
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        List<String> names = fields(text);
+        for (int i = 0; i < names.size(); i++) {
+            positions.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            Integer position = positions.get(CSV_COLUMNS[i].toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new UserImportHeaderException(CSV_COLUMNS[i], List.of(CSV_COLUMNS),
+                        names.stream().map(String::trim).toList());
+            }
+            columns[i] = position;
+        }
+        return columns;
+    }
+
+    static List<String> fields(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Exactly one of user and error is set
+    record Row(long line, CreateUserDto user, String error) {
+    }
+}
@@ -0,0 +1,275 @@
+package org.example.backend.service.Impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.CreateUserDto;
+import org.example.backend.dto.UserImportErrorDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.dto.UserImportResultDto;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserImportService;
+import org.example.backend.service.UserSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams an import body in chunks of {@code users.import.batch-size} rows. Each chunk is
+ * validated, checked against existing usernames with one IN query, hashed in parallel on a
+ * dedicated fork-join pool and written in its own transaction: a JDBC batch insert of the users,
+ * then one {@code INSERT ... SELECT} of their default role.
+ *
+ * <p>A chunk whose batch fails (for instance a username created concurrently) is rolled back
+ * and retried row by row, so only the offending rows are reported.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final String DEFAULT_ROLE = "ORDINARY";
+
+    private static final String INSERT_USER =
+            "INSERT INTO user (username, password, email, first_name, last_name) VALUES (?, ?, ?, ?, ?)";
+    // Join rows need the generated user ids, so they are inserted from the freshly written users
+    private static final String INSERT_USER_ROLES = "INSERT INTO user_roles (user_id, role_id) "
+            + "SELECT u.id, r.id FROM user u JOIN role r ON r.id = ? WHERE u.username IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final UserSearchIndex userSearchIndex;
+    private final UserDirectory userDirectory;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    // Kept apart from the login bulkhead so an import can never fill its queue
+    private final ForkJoinPool hashingPool;
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public UserImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 UserRepository userRepository,
+                                 RoleRegistry roleRegistry,
+                                 UserSearchIndex userSearchIndex,
+                                 UserDirectory userDirectory,
+                                 PasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${users.import.batch-size:500}") int batchSize,
+                                 @Value("${users.import.hashing-threads:0}") int hashingThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.userSearchIndex = userSearchIndex;
+        this.userDirectory = userDirectory;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.hashingPool = new ForkJoinPool(hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(),
+                hashingThreadFactory(), null, false);
+        this.importedRows = Counter.builder("users.import.rows")
+                .tag("result", "imported")
+                .description("Users created by bulk imports")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("users.import.rows")
+                .tag("result", "failed")
+                .description("Bulk import rows that were rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserImportResultDto importUsers(Reader body, UserImportFormat format) throws IOException {
+        UserImportReader reader = new UserImportReader(body, format, objectMapper);
+        Progress progress = new Progress();
+        List<UserImportReader.Row> chunk = new ArrayList<>(batchSize);
+        for (UserImportReader.Row row = reader.next(); row != null; row = reader.next()) {
+            if (row.error() != null) {
+                progress.fail(row.line(), null, row.error());
+                continue;
+            }
+            String invalid = violations(row.user());
+            if (invalid != null) {
+                progress.fail(row.line(), row.user().getUsername(), invalid);
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == batchSize) {
+                store(chunk, progress);
+                chunk.clear();
+            }
+        }
+        store(chunk, progress);
+        return progress.result();
+    }
+
+    private String violations(CreateUserDto user) {
+        Set<ConstraintViolation<CreateUserDto>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void store(List<UserImportReader.Row> chunk, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<String, UserImportReader.Row> rows = new LinkedHashMap<>();
+        for (UserImportReader.Row row : chunk) {
+            if (rows.putIfAbsent(row.user().getUsername(), row) != null) {
+                progress.fail(row.line(), row.user().getUsername(), "Duplicate username in import: " + row.user().getUsername());
+            }
+        }
+        for (String existing : userRepository.findUsernamesIn(rows.keySet())) {
+            // A case-insensitive collation can answer with another spelling; the batch then fails and retries by row
+            UserImportReader.Row row = rows.remove(existing);
+            if (row != null) {
+                progress.fail(row.line(), existing, "User already exists with username: " + existing);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<NewUser> users = hash(rows.values());
+        Integer role = roleRegistry.idOf(DEFAULT_ROLE).orElse(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users, role));
+            progress.imported(users.size());
+        } catch (DataAccessException e) {
+            for (NewUser user : users) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(user), role));
+                    progress.imported(1);
+                } catch (DuplicateKeyException duplicate) {
+                    progress.fail(user.line(), user.username(), "User already exists with username or email: " + user.username());
+                } catch (DataAccessException rowFailure) {
+                    progress.fail(user.line(), user.username(), "User could not be stored");
+                }
+            }
+        }
+    }
+
+    // One hashing task per row; the calling thread waits for the whole chunk
+    private List<NewUser> hash(Iterable<UserImportReader.Row> rows) {
+        List<ForkJoinTask<NewUser>> tasks = new ArrayList<>();
+        for (UserImportReader.Row row : rows) {
+            tasks.add(hashingPool.submit(() -> new NewUser(row.line(), row.user(), passwordEncoder.encode(row.user().getPassword()))));
+        }
+        List<NewUser> users = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<NewUser> task : tasks) {
+            users.add(task.join());
+        }
+        return users;
+    }
+
+    private void insert(List<NewUser> users, Integer role) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, batchSize, (statement, user) -> {
+            statement.setString(1, user.username());
+            statement.setString(2, user.passwordHash());
+            statement.setString(3, user.user().getEmail());
+            statement.setString(4, user.user().getFirstName());
+            statement.setString(5, user.user().getLastName());
+        });
+        if (role != null) {
+            List<Object> parameters = new ArrayList<>(users.size() + 1);
+            parameters.add(role);
+            users.forEach(user -> parameters.add(user.username()));
+            jdbcTemplate.update(INSERT_USER_ROLES.formatted(String.join(", ", Collections.nCopies(users.size(), "?"))),
+                    parameters.toArray());
+        }
+        // Applied once the chunk commits; a chunk that rolls back leaves the index and directory alone
+        List<UserRow> rows = users.stream()
+                .map(user -> new UserRow(user.username(), user.user().getEmail(), user.user().getFirstName(), user.user().getLastName()))
+                .toList();
+        userSearchIndex.putAllAfterCommit(rows);
+        userDirectory.putAllAfterCommit(rows, role);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory hashingThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record NewUser(long line, CreateUserDto user, String passwordHash) {
+        String username() {
+            return user.getUsername();
+        }
+    }
+
+    private final class Progress {
+        private long imported;
+        private long failed;
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+
+        void imported(int count) {
+            imported += count;
+            importedRows.increment(count);
+        }
+
+        void fail(long line, String username, String message) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportErrorDto(line, username, message));
+            }
+        }
+
+        UserImportResultDto result() {
+            // Chunk-level checks report out of line order
+            errors.sort(Comparator.comparingLong(UserImportErrorDto::getLine));
+            return UserImportResultDto.builder()
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
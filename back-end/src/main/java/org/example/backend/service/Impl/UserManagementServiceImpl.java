@@ -2,22 +2,33 @@ package org.example.backend.service.Impl;
 
 import org.example.backend.dao.entity.Role;
 import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserDetailRow;
+import org.example.backend.dao.projection.UserRow;
 import org.example.backend.dao.repository.RoleRepository;
 import org.example.backend.dao.repository.UserRepository;
 import org.example.backend.dto.CreateUserDto;
 import org.example.backend.dto.UpdateUserDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserPageDto;
+import org.example.backend.dto.UserSort;
 import org.example.backend.dto.UserRoleDto;
 import org.example.backend.dto.ChangePasswordDto;
 import org.example.backend.dto.ProfileUpdateDto;
 import org.example.backend.mapper.UserMapper;
+import org.example.backend.security.BoundedUserCache;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
 import org.example.backend.service.UserManagementService;
+import org.example.backend.service.UserSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,75 +46,161 @@ public class UserManagementServiceImpl implements UserManagementService {
     private UserMapper userMapper;
 
     @Autowired
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private BoundedUserCache userCache;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserDirectory userDirectory;
 
     @Override
     public UserDto createUser(CreateUserDto createUserDto) {
-        if (userRepository.existsById(createUserDto.getUsername())) {
+        if (userRepository.existsByUsername(createUserDto.getUsername())) {
             throw new RuntimeException("User already exists with username: " + createUserDto.getUsername());
         }
 
         User user = userMapper.toEntity(createUserDto);
-        user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
         
         // Add default role
-        Optional<Role> defaultRole = roleRepository.findById("ORDINARY");
-        if (defaultRole.isPresent()) {
-            user.setRoles(new ArrayList<>());
-            user.getRoles().add(defaultRole.get());
-        }
+        roleRegistry.idOf("ORDINARY").ifPresent(roleId -> {
+            user.setRoles(new HashSet<>());
+            user.getRoles().add(roleRepository.getReferenceById(roleId));
+        });
         
         User savedUser = userRepository.save(user);
+        userSearchIndex.putAfterCommit(userMapper.toRow(savedUser));
+        userDirectory.putAfterCommit(savedUser);
         return userMapper.toDto(savedUser);
     }
 
     @Override
     public UserDto updateUser(String username, UpdateUserDto updateUserDto) {
-        User user = userRepository.findById(username)
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
 
         userMapper.updateEntity(user, updateUserDto);
         User updatedUser = userRepository.save(user);
+        userSearchIndex.putAfterCommit(userMapper.toRow(updatedUser));
+        userDirectory.putAfterCommit(updatedUser);
         return userMapper.toDto(updatedUser);
     }
 
     @Override
     public void deleteUser(String username) {
-        if (!userRepository.existsById(username)) {
+        if (userRepository.deleteByUsername(username) == 0) {
             throw new RuntimeException("User not found with username: " + username);
         }
-        userRepository.deleteById(username);
+        userCache.evictAfterCommit(username);
+        userSearchIndex.removeAfterCommit(username);
+        userDirectory.removeAfterCommit(username);
     }
 
+    // Served from the user directory without a transaction; the database only sees users it does
+    // not hold, such as ones written by another node since its last load
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDto getUserByUsername(String username) {
-        User user = userRepository.findById(username)
-                .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
-        return userMapper.toDto(user);
+        Optional<UserDto> held = userDirectory.find(username);
+        if (held.isPresent()) {
+            return held.get();
+        }
+        List<UserDetailRow> rows = userRepository.findDetailRowsByUsername(username);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found with username: " + username);
+        }
+        return userMapper.toDto(rows);
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return userMapper.toDtoList(users);
+    @Transactional(readOnly = true)
+    public UserPageDto getUsers(UserSort sort, String cursor, int size) {
+        UserCursor after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor, sort);
+        // One extra row tells whether another page exists without a count query
+        List<UserRow> users = findPage(sort, after, Limit.of(size + 1));
+        String nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = UserCursor.after(sort, users.get(size - 1)).encode();
+        }
+        return UserPageDto.builder()
+                .items(withRoles(users))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<UserDto> getAllUsers(int limit) {
+        if (userDirectory.isReady()) {
+            return userDirectory.first(limit);
+        }
+        return withRoles(userRepository.findFirstPageByUsername(Limit.of(limit)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<UserDto> searchUsers(String query, int limit) {
+        if (!userSearchIndex.isReady()) {
+            throw new IllegalStateException("User search index is still loading");
+        }
+        // Matches come from the index and users from the directory; roles are read with one IN
+        // query only when the directory is missing one of them
+        List<UserRow> matches = userSearchIndex.search(query, limit);
+        return userDirectory.findAll(matches.stream().map(UserRow::username).toList())
+                .orElseGet(() -> withRoles(matches));
+    }
+
+    // Roles of the whole page come from one IN query
+    private List<UserDto> withRoles(List<UserRow> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return userMapper.toDtoList(users,
+                userRepository.findRoleRowsByUsernameIn(users.stream().map(UserRow::username).toList()));
+    }
+
+    private List<UserRow> findPage(UserSort sort, UserCursor after, Limit limit) {
+        if (after == null) {
+            return switch (sort) {
+                case USERNAME -> userRepository.findFirstPageByUsername(limit);
+                case NAME -> userRepository.findFirstPageByName(limit);
+                case EMAIL -> userRepository.findFirstPageByEmail(limit);
+            };
+        }
+        return switch (sort) {
+            case USERNAME -> userRepository.findPageByUsernameAfter(after.username(), limit);
+            case NAME -> userRepository.findPageByNameAfter(after.lastName(), after.firstName(), after.username(), limit);
+            case EMAIL -> after.email() == null
+                    ? userRepository.findPageByNullEmailAfter(after.username(), limit)
+                    : userRepository.findPageByEmailAfter(after.email(), limit);
+        };
     }
 
     @Override
     public UserDto addRoleToUser(UserRoleDto userRoleDto) {
-        User user = userRepository.findById(userRoleDto.getUsername())
+        User user = userRepository.findWithRolesByUsername(userRoleDto.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + userRoleDto.getUsername()));
 
-        Role role = roleRepository.findById(userRoleDto.getRole())
-                .orElseThrow(() -> new RuntimeException("Role not found: " + userRoleDto.getRole()));
+        Role role = knownRole(userRoleDto.getRole());
 
         if (user.getRoles() == null) {
-            user.setRoles(new ArrayList<>());
+            user.setRoles(new HashSet<>());
         }
 
         if (!user.getRoles().contains(role)) {
+            // The user is managed and flushed at commit; save() would merge it and load the role
             user.getRoles().add(role);
-            User updatedUser = userRepository.save(user);
-            return userMapper.toDto(updatedUser);
+            userCache.evictAfterCommit(user.getUsername());
+            userDirectory.putAfterCommit(user);
+            return userMapper.toDto(user);
         }
 
         return userMapper.toDto(user);
@@ -111,24 +208,31 @@ public class UserManagementServiceImpl implements UserManagementService {
 
     @Override
     public UserDto removeRoleFromUser(UserRoleDto userRoleDto) {
-        User user = userRepository.findById(userRoleDto.getUsername())
+        User user = userRepository.findWithRolesByUsername(userRoleDto.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + userRoleDto.getUsername()));
 
-        Role role = roleRepository.findById(userRoleDto.getRole())
-                .orElseThrow(() -> new RuntimeException("Role not found: " + userRoleDto.getRole()));
+        Role role = knownRole(userRoleDto.getRole());
 
         if (user.getRoles() != null && user.getRoles().contains(role)) {
             user.getRoles().remove(role);
-            User updatedUser = userRepository.save(user);
-            return userMapper.toDto(updatedUser);
+            userCache.evictAfterCommit(user.getUsername());
+            userDirectory.putAfterCommit(user);
+            return userMapper.toDto(user);
         }
 
         return userMapper.toDto(user);
     }
 
+    // Resolved through the role registry; the reference is compared by id and never loaded
+    private Role knownRole(String roleName) {
+        Integer roleId = roleRegistry.idOf(roleName)
+                .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
+        return roleRepository.getReferenceById(roleId);
+    }
+
     @Override
     public UserDto updateProfile(String username, ProfileUpdateDto profileUpdateDto) {
-        User user = userRepository.findById(username)
+        User user = userRepository.findWithRolesByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
 
         // Update profile fields
@@ -143,21 +247,24 @@ public class UserManagementServiceImpl implements UserManagementService {
         }
 
         User updatedUser = userRepository.save(user);
+        userSearchIndex.putAfterCommit(userMapper.toRow(updatedUser));
+        userDirectory.putAfterCommit(updatedUser);
         return userMapper.toDto(updatedUser);
     }
 
     @Override
     public void changePassword(String username, ChangePasswordDto changePasswordDto) {
-        User user = userRepository.findById(username)
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
 
         // Verify current password
-        if (!bCryptPasswordEncoder.matches(changePasswordDto.getCurrentPassword(), user.getPassword())) {
+        if (!passwordEncoder.matches(changePasswordDto.getCurrentPassword(), user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
 
         // Update password
-        user.setPassword(bCryptPasswordEncoder.encode(changePasswordDto.getNewPassword()));
+        user.setPassword(passwordEncoder.encode(changePasswordDto.getNewPassword()));
         userRepository.save(user);
+        userCache.evictAfterCommit(username);
     }
 }
@@ -0,0 +1,100 @@
+package org.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A structure held in memory that is reloaded from the database as a whole and changed in place
+ * between loads, as {@link UserSearchIndex} and {@link UserDirectory} are. Reads and changes
+ * take a read/write lock around it. A reload fills a fresh copy without the lock. Changes that
+ * commit meanwhile are applied to the current copy and also queued, then replayed onto the
+ * fresh one before the swap, so none is lost.
+ *
+ * @param <S> the structure; it need not be thread-safe
+ */
+final class ReloadableState<S> {
+
+    private final Supplier<S> empty;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private S current;
+    // Guarded by lock; non-null while a reload is loading
+    private List<Consumer<S>> pending;
+    private volatile boolean ready;
+
+    ReloadableState(Supplier<S> empty) {
+        this.empty = empty;
+        this.current = empty.get();
+    }
+
+    // False until the first reload finishes
+    boolean isReady() {
+        return ready;
+    }
+
+    <R> R read(Function<S, R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void changeAfterCommit(Consumer<S> change) {
+        TransactionHooks.afterCommit(() -> apply(change));
+    }
+
+    void reloadInBackground(String threadName, Consumer<S> loader) {
+        Thread thread = new Thread(() -> reload(loader), threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // A loader that throws leaves the current copy in place
+    synchronized void reload(Consumer<S> loader) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        S fresh = empty.get();
+        try {
+            loader.accept(fresh);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            current = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<S> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(current);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
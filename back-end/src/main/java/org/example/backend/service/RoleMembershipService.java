@@ -0,0 +1,12 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.RoleMembersDto;
+import org.example.backend.dto.RoleMembersResultDto;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface RoleMembershipService {
+    // Set-based and idempotent: users that already hold (or lack) the role are skipped by the database
+    RoleMembersResultDto addMembers(String roleName, RoleMembersDto members);
+    RoleMembersResultDto removeMembers(String roleName, RoleMembersDto members);
+}
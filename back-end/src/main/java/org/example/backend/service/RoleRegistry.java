@@ -0,0 +1,95 @@
+package org.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.example.backend.dao.projection.RoleRow;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dto.RoleDto;
+import org.example.backend.mapper.RoleMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The role catalogue, held in memory as an immutable snapshot that is replaced as a whole.
+ * Lookups never touch the database once the first snapshot is loaded. The snapshot also maps
+ * each name to the role's surrogate id, which writes use to reference a role without loading it.
+ *
+ * <p>Role writes on this node call {@link #reloadAfterCommit}; the periodic refresh picks up
+ * writes made by other nodes. Every load is numbered and a snapshot only replaces an older one,
+ * so a slow reload cannot overwrite a newer catalogue.
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private final RoleMapper roleMapper;
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public RoleRegistry(RoleRepository roleRepository, RoleMapper roleMapper) {
+        this.roleRepository = roleRepository;
+        this.roleMapper = roleMapper;
+    }
+
+    public boolean exists(String role) {
+        return role != null && current().byName().containsKey(role);
+    }
+
+    public Optional<RoleDto> find(String role) {
+        return role == null ? Optional.empty() : Optional.ofNullable(current().byName().get(role));
+    }
+
+    public Optional<Integer> idOf(String role) {
+        return role == null ? Optional.empty() : Optional.ofNullable(current().idByName().get(role));
+    }
+
+    public Optional<String> nameOf(Integer id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().nameById().get(id));
+    }
+
+    // Sorted by name and unmodifiable
+    public List<RoleDto> all() {
+        return current().all();
+    }
+
+    public void reloadAfterCommit() {
+        TransactionHooks.afterCommit(this::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${roles.registry.refresh-ms:60000}",
+            initialDelayString = "${roles.registry.refresh-ms:60000}")
+    public void reload() {
+        long version = loads.incrementAndGet();
+        Map<String, RoleDto> byName = new LinkedHashMap<>();
+        Map<String, Integer> idByName = new LinkedHashMap<>();
+        Map<Integer, String> nameById = new LinkedHashMap<>();
+        for (RoleRow role : roleRepository.findAllRows()) {
+            byName.put(role.role(), roleMapper.toDto(role.role()));
+            idByName.put(role.role(), role.id());
+            nameById.put(role.id(), role.role());
+        }
+        Snapshot next = new Snapshot(version, Map.copyOf(byName), Map.copyOf(idByName), Map.copyOf(nameById),
+                List.copyOf(new ArrayList<>(byName.values())));
+        snapshot.accumulateAndGet(next, (current, loaded) ->
+                current == null || loaded.version() > current.version() ? loaded : current);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            reload();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private record Snapshot(long version, Map<String, RoleDto> byName, Map<String, Integer> idByName,
+                            Map<Integer, String> nameById, List<RoleDto> all) {
+    }
+}
@@ -0,0 +1,530 @@
+package org.example.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntConsumer;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.UserDto;
+import org.example.backend.mapper.RoleMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Every user's username, email, names and roles, held in memory so user reads need no
+ * database round trip. Each user is a slot number, and the layout avoids an object per field:
+ *
+ * <ul>
+ *   <li>the four text fields of a slot are one UTF-8 byte array, each field preceded by a
+ *       varint of its byte length plus one (zero for null);</li>
+ *   <li>role ids are interned to bit positions, and each slot owns a fixed stride of words in
+ *       one shared {@code long[]};</li>
+ *   <li>usernames resolve to slots through an open-addressing {@code int[]} keyed by a
+ *       case-insensitive hash, and an {@code int[]} of slots in username order serves listings.</li>
+ * </ul>
+ *
+ * <p>Role names are looked up in the {@link RoleRegistry} when a user is read, so a deleted role
+ * disappears at once. Loading and upkeep go through {@link ReloadableState}, as in
+ * {@link UserSearchIndex}: a background load at startup and a periodic one pick up writes made
+ * by other nodes, and writers on this node call the {@code ...AfterCommit} methods.
+ */
+@Component
+public class UserDirectory {
+
+    static final int LOAD_PAGE = 5000;
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final RoleMapper roleMapper;
+    private final ReloadableState<Store> state = new ReloadableState<>(Store::new);
+
+    public UserDirectory(UserRepository userRepository, RoleRegistry roleRegistry, RoleMapper roleMapper,
+                         MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.roleRegistry = roleRegistry;
+        this.roleMapper = roleMapper;
+        Gauge.builder("users.directory.size", this, UserDirectory::size)
+                .description("Users currently held in the user directory")
+                .register(meterRegistry);
+        Gauge.builder("users.directory.bytes", this, UserDirectory::bytes)
+                .description("Estimated heap held by the user directory")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // False until the first load finishes
+    public boolean isReady() {
+        return state.isReady();
+    }
+
+    public Optional<UserDto> find(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return state.read(store -> {
+            int slot = store.slotOf(username);
+            return slot < 0 ? Optional.empty() : Optional.of(toDto(store, slot));
+        });
+    }
+
+    // Each user in the given order, or empty when one of them is not held
+    public Optional<List<UserDto>> findAll(List<String> usernames) {
+        return state.read(store -> {
+            List<UserDto> users = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                int slot = store.slotOf(username);
+                if (slot < 0) {
+                    return Optional.empty();
+                }
+                users.add(toDto(store, slot));
+            }
+            return Optional.of(users);
+        });
+    }
+
+    // The first users in username order
+    public List<UserDto> first(int limit) {
+        return state.read(store -> {
+            int count = Math.max(0, Math.min(limit, store.live));
+            List<UserDto> users = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                users.add(toDto(store, store.order[i]));
+            }
+            return users;
+        });
+    }
+
+    public Optional<List<String>> roleNames(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return state.read(store -> {
+            int slot = store.slotOf(username);
+            return slot < 0 ? Optional.empty() : Optional.of(roleNames(store, slot));
+        });
+    }
+
+    // Fields and role ids are read now, while the roles may still be uninitialised references
+    public void putAfterCommit(User user) {
+        UserRow row = new UserRow(user.getUsername(), user.getEmail(), user.getFirstName(), user.getLastName());
+        List<Integer> roleIds = user.getRoles() == null ? List.of()
+                : user.getRoles().stream().map(Role::getId).toList();
+        state.changeAfterCommit(store -> store.put(row, roleIds));
+    }
+
+    // New users that all hold one role, or none when roleId is null
+    public void putAllAfterCommit(List<UserRow> users, Integer roleId) {
+        List<Integer> roleIds = roleId == null ? List.of() : List.of(roleId);
+        state.changeAfterCommit(store -> users.forEach(user -> store.put(user, roleIds)));
+    }
+
+    public void removeAfterCommit(String username) {
+        state.changeAfterCommit(store -> store.remove(username));
+    }
+
+    public void grantAfterCommit(Integer roleId, Collection<String> usernames) {
+        state.changeAfterCommit(store -> store.setRole(roleId, usernames, true));
+    }
+
+    public void revokeAfterCommit(Integer roleId, Collection<String> usernames) {
+        state.changeAfterCommit(store -> store.setRole(roleId, usernames, false));
+    }
+
+    public void dropRoleAfterCommit(Integer roleId) {
+        state.changeAfterCommit(store -> store.dropRole(roleId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        state.reloadInBackground("user-directory-rebuild", this::load);
+    }
+
+    @Scheduled(fixedDelayString = "${users.directory.rebuild-ms:300000}",
+            initialDelayString = "${users.directory.rebuild-ms:300000}")
+    public void rebuild() {
+        state.reload(this::load);
+    }
+
+    int size() {
+        return state.read(store -> store.live);
+    }
+
+    long bytes() {
+        return state.read(Store::bytes);
+    }
+
+    private void load(Store fresh) {
+        List<UserRow> page = userRepository.findFirstPageByUsername(Limit.of(LOAD_PAGE));
+        while (!page.isEmpty()) {
+            loadPage(fresh, page);
+            if (page.size() < LOAD_PAGE) {
+                break;
+            }
+            page = userRepository.findPageByUsernameAfter(page.get(page.size() - 1).username(), Limit.of(LOAD_PAGE));
+        }
+    }
+
+    // One page of users and, with one IN query, their roles
+    private void loadPage(Store target, List<UserRow> page) {
+        Map<String, List<Integer>> roleIds = new HashMap<>();
+        for (UserRoleRow row : userRepository.findRoleRowsByUsernameIn(page.stream().map(UserRow::username).toList())) {
+            roleIds.computeIfAbsent(row.username(), username -> new ArrayList<>()).add(roleId(row.role()));
+        }
+        for (UserRow user : page) {
+            target.put(user, roleIds.getOrDefault(user.username(), List.of()));
+        }
+    }
+
+    // A role created on another node may be newer than the registry's snapshot. Skipping it would
+    // hold the user without that role until the next rebuild, so the load fails instead
+    private Integer roleId(String role) {
+        Optional<Integer> id = roleRegistry.idOf(role);
+        if (id.isEmpty()) {
+            roleRegistry.reload();
+            id = roleRegistry.idOf(role);
+        }
+        return id.orElseThrow(() -> new IllegalStateException("Role " + role + " is not in the role registry"));
+    }
+
+    private UserDto toDto(Store store, int slot) {
+        String[] fields = Store.decode(store.records[slot], Store.FIELDS);
+        List<RoleDto> roles = new ArrayList<>();
+        for (String role : roleNames(store, slot)) {
+            roles.add(roleMapper.toDto(role));
+        }
+        return new UserDto(fields[0], fields[1], fields[2], fields[3], roles);
+    }
+
+    // Sorted by name, as the database queries return them
+    private List<String> roleNames(Store store, int slot) {
+        List<String> names = new ArrayList<>(2);
+        store.forEachRoleId(slot, roleId -> roleRegistry.nameOf(roleId).ifPresent(names::add));
+        if (names.size() > 1) {
+            names.sort(null);
+        }
+        return names;
+    }
+
+    // Not thread-safe; ReloadableState guards it with its lock
+    private static final class Store {
+
+        static final int FIELDS = 4;
+        private static final int ARRAY_HEADER = 16;
+
+        private byte[][] records = new byte[1024][];
+        private int[] hashes = new int[1024];
+        // words longs per slot; bit b of a slot stands for the role id in roleIdOfBit[b]
+        private long[] roleBits = new long[1024];
+        private int words = 1;
+        private int[] roleIdOfBit = new int[64];
+        // Slot + 1 per entry, 0 when empty; linear probing, kept at most half full
+        private int[] table = new int[2048];
+        // Live slots in username order
+        private int[] order = new int[1024];
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int size;
+        private int live;
+        private long recordBytes;
+
+        void put(UserRow user, Collection<Integer> roleIds) {
+            remove(user.username());
+            int slot = freeCount > 0 ? freeSlots[--freeCount] : size++;
+            if (slot == records.length) {
+                grow(slot * 2);
+            }
+            byte[] record = encode(user);
+            records[slot] = record;
+            recordBytes += align(ARRAY_HEADER + record.length);
+            hashes[slot] = hash(user.username());
+            Arrays.fill(roleBits, slot * words, slot * words + words, 0L);
+            for (Integer roleId : roleIds) {
+                if (roleId != null) {
+                    int bit = bitOf(roleId, true);
+                    roleBits[slot * words + (bit >>> 6)] |= 1L << bit;
+                }
+            }
+            if (live + 1 > table.length / 2) {
+                rehash(table.length * 2);
+            }
+            insert(table, slot, hashes[slot]);
+            int at = -(positionInOrder(user.username()) + 1);
+            if (live == order.length) {
+                order = Arrays.copyOf(order, live * 2);
+            }
+            System.arraycopy(order, at, order, at + 1, live - at);
+            order[at] = slot;
+            live++;
+        }
+
+        void remove(String username) {
+            int hash = hash(username);
+            int position = positionInTable(username, hash);
+            if (position < 0) {
+                return;
+            }
+            int slot = table[position] - 1;
+            deleteFromTable(position);
+            int at = positionInOrder(username);
+            System.arraycopy(order, at + 1, order, at, live - at - 1);
+            live--;
+            recordBytes -= align(ARRAY_HEADER + records[slot].length);
+            records[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        void setRole(Integer roleId, Collection<String> usernames, boolean held) {
+            int bit = bitOf(roleId, held);
+            if (bit < 0) {
+                return;
+            }
+            for (String username : usernames) {
+                int slot = slotOf(username);
+                if (slot >= 0) {
+                    int word = slot * words + (bit >>> 6);
+                    roleBits[word] = held ? roleBits[word] | 1L << bit : roleBits[word] & ~(1L << bit);
+                }
+            }
+        }
+
+        // Clears the role's bit from every slot and frees it for the next new role
+        void dropRole(Integer roleId) {
+            int bit = bitOf(roleId, false);
+            if (bit < 0) {
+                return;
+            }
+            long mask = ~(1L << bit);
+            for (int word = bit >>> 6; word < roleBits.length; word += words) {
+                roleBits[word] &= mask;
+            }
+            roleIdOfBit[bit] = 0;
+        }
+
+        int slotOf(String username) {
+            int position = positionInTable(username, hash(username));
+            return position < 0 ? -1 : table[position] - 1;
+        }
+
+        void forEachRoleId(int slot, IntConsumer action) {
+            for (int w = 0; w < words; w++) {
+                long bits = roleBits[slot * words + w];
+                while (bits != 0) {
+                    int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    action.accept(roleIdOfBit[bit]);
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        // Estimated heap: the records plus every array of the layout
+        long bytes() {
+            return recordBytes
+                    + align(ARRAY_HEADER + 4L * records.length)
+                    + align(ARRAY_HEADER + 4L * hashes.length)
+                    + align(ARRAY_HEADER + 8L * roleBits.length)
+                    + align(ARRAY_HEADER + 4L * roleIdOfBit.length)
+                    + align(ARRAY_HEADER + 4L * table.length)
+                    + align(ARRAY_HEADER + 4L * order.length)
+                    + align(ARRAY_HEADER + 4L * freeSlots.length);
+        }
+
+        private String username(int slot) {
+            return decode(records[slot], 1)[0];
+        }
+
+        private int positionInTable(String username, int hash) {
+            int mask = table.length - 1;
+            for (int i = hash & mask; ; i = (i + 1) & mask) {
+                int entry = table[i];
+                if (entry == 0) {
+                    return -1;
+                }
+                int slot = entry - 1;
+                if (hashes[slot] == hash && username(slot).equalsIgnoreCase(username)) {
+                    return i;
+                }
+            }
+        }
+
+        // Backward-shift deletion, so lookups never need tombstones
+        private void deleteFromTable(int position) {
+            int mask = table.length - 1;
+            int hole = position;
+            for (int i = (hole + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+                int home = hashes[table[i] - 1] & mask;
+                // Move the entry back when its home is not cyclically within (hole, i]
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    table[hole] = table[i];
+                    hole = i;
+                }
+            }
+            table[hole] = 0;
+        }
+
+        private void rehash(int capacity) {
+            int[] next = new int[capacity];
+            for (int entry : table) {
+                if (entry != 0) {
+                    insert(next, entry - 1, hashes[entry - 1]);
+                }
+            }
+            table = next;
+        }
+
+        private static void insert(int[] table, int slot, int hash) {
+            int mask = table.length - 1;
+            int i = hash & mask;
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = slot + 1;
+        }
+
+        // Arrays.binarySearch contract over the live prefix of order
+        private int positionInOrder(String username) {
+            int low = 0;
+            int high = live - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = String.CASE_INSENSITIVE_ORDER.compare(username(order[mid]), username);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private int bitOf(int roleId, boolean intern) {
+            int free = -1;
+            for (int bit = 0; bit < roleIdOfBit.length; bit++) {
+                if (roleIdOfBit[bit] == roleId) {
+                    return bit;
+                }
+                if (free < 0 && roleIdOfBit[bit] == 0) {
+                    free = bit;
+                }
+            }
+            if (!intern) {
+                return -1;
+            }
+            if (free < 0) {
+                widen();
+                free = (words - 1) << 6;
+            }
+            roleIdOfBit[free] = roleId;
+            return free;
+        }
+
+        // One more word per slot, for the 65th, 129th, ... role in use at once
+        private void widen() {
+            int next = words + 1;
+            long[] bits = new long[records.length * next];
+            for (int slot = 0; slot < size; slot++) {
+                System.arraycopy(roleBits, slot * words, bits, slot * next, words);
+            }
+            roleBits = bits;
+            roleIdOfBit = Arrays.copyOf(roleIdOfBit, next << 6);
+            words = next;
+        }
+
+        private void grow(int capacity) {
+            records = Arrays.copyOf(records, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            roleBits = Arrays.copyOf(roleBits, capacity * words);
+        }
+
+        // The same case folding as String.equalsIgnoreCase, so equal usernames hash alike
+        static int hash(String username) {
+            int hash = 0;
+            for (int i = 0; i < username.length(); i++) {
+                hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(username.charAt(i)));
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        static byte[] encode(UserRow user) {
+            byte[][] fields = {utf8(user.username()), utf8(user.email()), utf8(user.firstName()), utf8(user.lastName())};
+            int length = 0;
+            for (byte[] field : fields) {
+                length += field == null ? 1 : varintLength(field.length + 1) + field.length;
+            }
+            byte[] record = new byte[length];
+            int at = 0;
+            for (byte[] field : fields) {
+                int stored = field == null ? 0 : field.length + 1;
+                while ((stored & ~0x7F) != 0) {
+                    record[at++] = (byte) ((stored & 0x7F) | 0x80);
+                    stored >>>= 7;
+                }
+                record[at++] = (byte) stored;
+                if (field != null) {
+                    System.arraycopy(field, 0, record, at, field.length);
+                    at += field.length;
+                }
+            }
+            return record;
+        }
+
+        // The first count fields of a record
+        static String[] decode(byte[] record, int count) {
+            String[] fields = new String[count];
+            int at = 0;
+            for (int f = 0; f < count; f++) {
+                int stored = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = record[at++];
+                    stored |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                if (stored > 0) {
+                    fields[f] = new String(record, at, stored - 1, StandardCharsets.UTF_8);
+                    at += stored - 1;
+                }
+            }
+            return fields;
+        }
+
+        private static byte[] utf8(String value) {
+            return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static int varintLength(int value) {
+            int length = 1;
+            while ((value & ~0x7F) != 0) {
+                value >>>= 7;
+                length++;
+            }
+            return length;
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+}
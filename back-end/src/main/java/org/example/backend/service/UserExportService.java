@@ -0,0 +1,13 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.UserImportFormat;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public interface UserExportService {
+    // Writes every user, ordered by username, without holding the table in memory
+    long exportUsers(OutputStream out, UserImportFormat format) throws IOException;
+}
@@ -0,0 +1,24 @@
+package org.example.backend.service;
+
+import java.util.List;
+
+// A CSV import whose header lacks a required column; nothing was imported
+public class UserImportHeaderException extends IllegalArgumentException {
+
+    private final List<String> expected;
+    private final List<String> received;
+
+    public UserImportHeaderException(String missing, List<String> expected, List<String> received) {
+        super("CSV header is missing the " + missing + " column");
+        this.expected = List.copyOf(expected);
+        this.received = List.copyOf(received);
+    }
+
+    public List<String> getExpected() {
+        return expected;
+    }
+
+    public List<String> getReceived() {
+        return received;
+    }
+}
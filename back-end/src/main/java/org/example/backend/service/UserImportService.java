@@ -0,0 +1,14 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.dto.UserImportResultDto;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+@Service
+public interface UserImportService {
+    // Rows that fail are reported and skipped; every other row is imported
+    UserImportResultDto importUsers(Reader body, UserImportFormat format) throws IOException;
+}
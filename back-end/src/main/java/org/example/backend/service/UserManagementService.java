@@ -3,6 +3,8 @@ package org.example.backend.service;
 import org.example.backend.dto.CreateUserDto;
 import org.example.backend.dto.UpdateUserDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserPageDto;
+import org.example.backend.dto.UserSort;
 import org.example.backend.dto.UserRoleDto;
 import org.example.backend.dto.ChangePasswordDto;
 import org.example.backend.dto.ProfileUpdateDto;
@@ -16,7 +18,9 @@ public interface UserManagementService {
     UserDto updateUser(String username, UpdateUserDto updateUserDto);
     void deleteUser(String username);
     UserDto getUserByUsername(String username);
-    List<UserDto> getAllUsers();
+    UserPageDto getUsers(UserSort sort, String cursor, int size);
+    List<UserDto> getAllUsers(int limit);
+    List<UserDto> searchUsers(String query, int limit);
     UserDto addRoleToUser(UserRoleDto userRoleDto);
     UserDto removeRoleFromUser(UserRoleDto userRoleDto);
     
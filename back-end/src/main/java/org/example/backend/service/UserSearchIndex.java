@@ -0,0 +1,303 @@
+package org.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory typeahead index over username, email, first name and last name. Each user is a
+ * document numbered in insertion order. Every field adds its first one and two characters
+ * (prefix grams) and each three-character window (trigrams), lower-cased, to posting lists of
+ * document numbers. A one- or two-character query reads a single prefix-gram list. A longer one
+ * intersects the lists of its trigrams and checks each candidate's fields, so no query scans
+ * the table.
+ *
+ * <p>Writers call {@link #putAfterCommit} and {@link #removeAfterCommit}. An update or delete
+ * only marks the old document dead. The rebuild at startup, and the periodic one, reloads every
+ * user into a fresh index through {@link ReloadableState}. That drops dead documents and picks
+ * up writes made by other nodes.
+ */
+@Component
+public class UserSearchIndex {
+
+    public static final int MAX_LIMIT = 50;
+    static final int LOAD_PAGE = 5000;
+
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparing(match -> match.user().username(), String.CASE_INSENSITIVE_ORDER);
+
+    private final UserRepository userRepository;
+    private final ReloadableState<Index> state = new ReloadableState<>(Index::new);
+    private final Timer searches;
+
+    public UserSearchIndex(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.searches = Timer.builder("users.search")
+                .description("User typeahead lookups served from the search index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("users.search.index.size", this, UserSearchIndex::size)
+                .description("Users currently held in the search index")
+                .register(meterRegistry);
+    }
+
+    // False until the first load finishes
+    public boolean isReady() {
+        return state.isReady();
+    }
+
+    // Best matches first: exact username, username prefix, other field prefix, then substring
+    public List<UserRow> search(String query, int limit) {
+        String term = query == null ? "" : query.strip();
+        if (term.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            return state.read(index -> index.search(term, Math.min(limit, MAX_LIMIT)));
+        } finally {
+            searches.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void putAfterCommit(UserRow user) {
+        state.changeAfterCommit(index -> index.put(user));
+    }
+
+    public void putAllAfterCommit(List<UserRow> users) {
+        state.changeAfterCommit(index -> users.forEach(index::put));
+    }
+
+    public void removeAfterCommit(String username) {
+        state.changeAfterCommit(index -> index.remove(username));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        state.reloadInBackground("user-search-rebuild", this::load);
+    }
+
+    @Scheduled(fixedDelayString = "${users.search.rebuild-ms:3600000}",
+            initialDelayString = "${users.search.rebuild-ms:3600000}")
+    public void rebuild() {
+        state.reload(this::load);
+    }
+
+    int size() {
+        return state.read(index -> index.live);
+    }
+
+    private void load(Index fresh) {
+        List<UserRow> page = userRepository.findFirstPageByUsername(Limit.of(LOAD_PAGE));
+        while (!page.isEmpty()) {
+            page.forEach(fresh::put);
+            if (page.size() < LOAD_PAGE) {
+                break;
+            }
+            page = userRepository.findPageByUsernameAfter(page.get(page.size() - 1).username(), Limit.of(LOAD_PAGE));
+        }
+    }
+
+    private record Match(UserRow user, int rank) {
+    }
+
+    // A user and their fields lower-cased as the grams were built from them
+    private record Doc(UserRow user, String username, String email, String firstName, String lastName) {
+    }
+
+    // Not thread-safe; ReloadableState guards it with its lock
+    private static final class Index {
+
+        private static final long PREFIX = 1L << 62;
+
+        private Doc[] docs = new Doc[1024];
+        private int size;
+        private int live;
+        // Keyed by lower-cased username, as MySQL compares usernames case-insensitively
+        private final Map<String, Integer> docByUsername = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        void put(UserRow user) {
+            remove(user.username());
+            int doc = size++;
+            if (doc == docs.length) {
+                docs = Arrays.copyOf(docs, doc * 2);
+            }
+            Doc entry = new Doc(user, lower(user.username()), lower(user.email()),
+                    lower(user.firstName()), lower(user.lastName()));
+            docs[doc] = entry;
+            live++;
+            docByUsername.put(entry.username(), doc);
+            addGrams(doc, entry.username());
+            addGrams(doc, entry.email());
+            addGrams(doc, entry.firstName());
+            addGrams(doc, entry.lastName());
+        }
+
+        void remove(String username) {
+            Integer doc = docByUsername.remove(username.toLowerCase(Locale.ROOT));
+            if (doc != null) {
+                docs[doc] = null;
+                live--;
+            }
+        }
+
+        List<UserRow> search(String term, int limit) {
+            String lower = term.toLowerCase(Locale.ROOT);
+            Postings[] lists = lists(lower);
+            if (lists == null) {
+                return List.of();
+            }
+            Arrays.sort(lists, Comparator.comparingInt((Postings list) -> list.size));
+            Postings driver = lists[0];
+            // Every candidate is ranked; the heap keeps the best `limit` with the worst on top
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.ids[i];
+                Doc entry = docs[doc];
+                if (entry == null) {
+                    continue;
+                }
+                for (int j = 1; j < lists.length; j++) {
+                    if (!lists[j].contains(doc)) {
+                        continue candidates;
+                    }
+                }
+                int rank = rank(entry, lower);
+                if (rank >= 0) {
+                    Match match = new Match(entry.user(), rank);
+                    if (best.size() < limit) {
+                        best.add(match);
+                    } else if (RANKING.compare(match, best.peek()) < 0) {
+                        best.poll();
+                        best.add(match);
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>(best);
+            matches.sort(RANKING);
+            return matches.stream().map(Match::user).toList();
+        }
+
+        // The posting lists every match must appear in, or null when one is empty
+        private Postings[] lists(String lower) {
+            if (lower.length() < 3) {
+                Postings list = postings.get(gram(lower, 0, lower.length(), true));
+                return list == null ? null : new Postings[] {list};
+            }
+            Set<Long> grams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                grams.add(gram(lower, i, 3, false));
+            }
+            Postings[] lists = new Postings[grams.size()];
+            int n = 0;
+            for (Long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return null;
+                }
+                lists[n++] = list;
+            }
+            return lists;
+        }
+
+        // -1 when the user does not actually match (grams can come from different fields)
+        private static int rank(Doc entry, String lower) {
+            if (entry.username().equals(lower)) {
+                return 0;
+            }
+            if (entry.username().startsWith(lower)) {
+                return 1;
+            }
+            if (startsWith(entry.email(), lower) || startsWith(entry.firstName(), lower) || startsWith(entry.lastName(), lower)) {
+                return 2;
+            }
+            if (lower.length() >= 3 && (entry.username().contains(lower) || contains(entry.email(), lower)
+                    || contains(entry.firstName(), lower) || contains(entry.lastName(), lower))) {
+                return 3;
+            }
+            return -1;
+        }
+
+        private void addGrams(int doc, String lower) {
+            if (lower == null || lower.isEmpty()) {
+                return;
+            }
+            add(gram(lower, 0, 1, true), doc);
+            if (lower.length() >= 2) {
+                add(gram(lower, 0, 2, true), doc);
+            }
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                add(gram(lower, i, 3, false), doc);
+            }
+        }
+
+        private void add(long gram, int doc) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(doc);
+        }
+
+        // Up to three UTF-16 chars, their count and whether the gram anchors a field start, in one long
+        private static long gram(String lower, int from, int length, boolean prefix) {
+            long key = (prefix ? PREFIX : 0) | ((long) length << 48);
+            for (int i = 0; i < length; i++) {
+                key |= (long) lower.charAt(from + i) << (32 - 16 * i);
+            }
+            return key;
+        }
+
+        // Lower-cased once, as grams and matches must see the same text: a character whose
+        // lower case has another length (İ becomes i and a combining dot) shifts both alike
+        private static String lower(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+
+        private static boolean startsWith(String lower, String term) {
+            return lower != null && lower.startsWith(term);
+        }
+
+        private static boolean contains(String lower, String term) {
+            return lower != null && lower.contains(term);
+        }
+    }
+
+    // Document numbers in ascending order; they only grow, so appending keeps the list sorted
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && ids[size - 1] == doc) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(ids, 0, size, doc) >= 0;
+        }
+    }
+}
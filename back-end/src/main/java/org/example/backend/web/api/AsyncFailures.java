@@ -0,0 +1,56 @@
+package org.example.backend.web.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.validation.ConstraintViolationException;
+import org.example.backend.security.PasswordHashingRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Maps the failure of a task run on the password-hashing pool to a response: a saturated pool is
+ * 503, a request the service rejected is 400 with its message, and anything else is 500.
+ */
+final class AsyncFailures {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncFailures.class);
+
+    private AsyncFailures() {
+    }
+
+    static ResponseEntity<Map<String, String>> toResponse(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        Map<String, String> response = new HashMap<>();
+        if (cause instanceof PasswordHashingRejectedException rejected) {
+            response.put("error", rejected.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rejected.getRetryAfterSeconds()))
+                    .body(response);
+        }
+        if (cause instanceof RejectedExecutionException) {
+            response.put("error", "Too many password operations in progress, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        // The services reject requests with a plain RuntimeException carrying the reason
+        if (cause.getClass() == RuntimeException.class || cause instanceof IllegalArgumentException
+                || cause instanceof ConstraintViolationException) {
+            response.put("error", cause.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        // A unique key such as the email, taken between the service's check and the insert
+        if (cause instanceof DataIntegrityViolationException) {
+            response.put("error", "Username or email is already in use");
+            return ResponseEntity.badRequest().body(response);
+        }
+        log.error("Password-hashing task failed", cause);
+        response.put("error", "Internal server error");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.backend.web.api;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lets a single endpoint run its async request for longer than the global MVC async timeout. The
+ * handler records its timeout with {@link #extend} before returning, and it is applied when the
+ * request goes async; every other async request keeps the short default and still fails fast.
+ */
+@Configuration
+public class AsyncRequestTimeouts implements WebMvcConfigurer {
+
+    private static final String TIMEOUT = AsyncRequestTimeouts.class.getName() + ".TIMEOUT";
+
+    static void extend(HttpServletRequest request, Duration timeout) {
+        request.setAttribute(TIMEOUT, timeout);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new ExtendedTimeout());
+    }
+
+    // Runs after the default timeout is set on the request and before the request starts async
+    static final class ExtendedTimeout implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (request.getAttribute(TIMEOUT, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                    && request instanceof AsyncWebRequest asyncRequest) {
+                asyncRequest.setTimeout(timeout.toMillis());
+            }
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package org.example.backend.web.api;
 
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.example.backend.dao.entity.User;
 import org.example.backend.dto.CreateUserDto;
 import org.example.backend.dto.LoginDto;
+import org.example.backend.dto.RefreshTokenDto;
+import org.example.backend.dto.RoleDto;
 import org.example.backend.dto.UserDto;
 import org.example.backend.mapper.UserMapper;
+import org.example.backend.security.LoginThrottle;
+import org.example.backend.security.PasswordHashingExecutor;
+import org.example.backend.security.RefreshTokenService;
 import org.example.backend.security.SecurityParameters;
+import org.example.backend.security.TokenClaims;
+import org.example.backend.security.TokenRevocationStore;
+import org.example.backend.security.TokenService;
 import org.example.backend.service.AccountService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,7 +29,10 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -28,12 +41,6 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.auth0.jwt.interfaces.DecodedJWT;
-
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin
@@ -48,68 +55,119 @@ public class AuthRestController {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocationStore tokenRevocationStore;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/login")
-    public Map<String, String> login(@Valid @RequestBody LoginDto loginDto) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword()));
+    public CompletableFuture<Map<String, String>> login(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request) {
+        // Over-limit attempts are refused before any user lookup or password compare
+        loginThrottle.acquire(loginDto.getUsername(), request.getRemoteAddr());
+
+        // The BCrypt compare runs on the hashing pool so the request thread is released meanwhile
+        return passwordHashingExecutor.submit(() -> {
+            try {
+                return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword()));
+            } catch (AuthenticationException e) {
+                throw new RuntimeException("Invalid login credentials");
+            }
+        }).thenApply(authentication -> {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String jwt = JWT.create()
-                    .withSubject(userDetails.getUsername())
-                    .withExpiresAt(new Date(System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME))
-                    .withClaim("roles", userDetails.getAuthorities().stream().map(auth -> auth.getAuthority()).toList())
-                    .sign(Algorithm.HMAC256(SecurityParameters.SECRET));
+            TokenService.IssuedToken jwt = tokenService.issue(userDetails.getUsername(), userDetails.getAuthorities());
             Map<String, String> response = new HashMap<>();
-            response.put("token", SecurityParameters.PREFIX + jwt);
+            response.put("token", SecurityParameters.PREFIX + jwt.token());
+            response.put("refreshToken", refreshTokenService.issue(userDetails.getUsername()));
             response.put("username", userDetails.getUsername());
-            response.put("expiresAt", String.valueOf(System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME));
+            response.put("expiresAt", String.valueOf(jwt.expiresAt()));
             return response;
-        } catch (AuthenticationException e) {
-            throw new RuntimeException("Invalid login credentials");
+        });
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, String>> refresh(@Valid @RequestBody RefreshTokenDto refreshTokenDto) {
+        Map<String, String> response = new HashMap<>();
+
+        // One indexed lookup instead of another BCrypt compare; roles are re-read so grants show up
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(refreshTokenDto.getRefreshToken());
+        if (rotation.isEmpty()) {
+            response.put("message", "Invalid or expired refresh token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(rotation.get().username());
+            TokenService.IssuedToken jwt = tokenService.issue(userDetails.getUsername(), userDetails.getAuthorities());
+            response.put("token", SecurityParameters.PREFIX + jwt.token());
+            response.put("refreshToken", rotation.get().refreshToken());
+            response.put("username", userDetails.getUsername());
+            response.put("expiresAt", String.valueOf(jwt.expiresAt()));
+            return ResponseEntity.ok(response);
+        } catch (UsernameNotFoundException e) {
+            refreshTokenService.revoke(rotation.get().refreshToken());
+            response.put("message", "Invalid or expired refresh token");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
     }
 
     @PostMapping("/register")
-    public UserDto register(@Valid @RequestBody CreateUserDto createUserDto) {
+    public CompletableFuture<UserDto> register(@Valid @RequestBody CreateUserDto createUserDto) {
         User user = userMapper.toEntity(createUserDto);
-        User savedUser = accountService.saveUser(user);
-        return userMapper.toDto(savedUser);
+        return passwordHashingExecutor.submit(() -> accountService.saveUser(user))
+                .thenApply(userMapper::toDto);
     }
 
     @PostMapping("/verify")
     public ResponseEntity<Map<String, Object>> verifyToken(@RequestHeader("Authorization") String authHeader) {
         Map<String, Object> response = new HashMap<>();
         
-        if (authHeader == null || !authHeader.startsWith(SecurityParameters.PREFIX)) {
+        if (!authHeader.startsWith(SecurityParameters.PREFIX)) {
             response.put("valid", false);
             response.put("message", "No valid token provided");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
 
-        try {
-            String token = authHeader.substring(SecurityParameters.PREFIX.length());
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(SecurityParameters.SECRET)).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            
-            response.put("valid", true);
-            response.put("username", decodedJWT.getSubject());
-            response.put("roles", decodedJWT.getClaim("roles").asList(String.class));
-            response.put("expiresAt", decodedJWT.getExpiresAt().getTime());
-            
-            return ResponseEntity.ok(response);
-        } catch (JWTVerificationException e) {
+        // The JWT filter has already verified the token; one it rejected arrives unauthenticated
+        TokenClaims claims = currentTokenClaims();
+        if (claims == null) {
             response.put("valid", false);
             response.put("message", "Invalid or expired token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
+
+        response.put("valid", true);
+        response.put("username", claims.username());
+        response.put("roles", claims.roles());
+        response.put("expiresAt", claims.expiresAt());
+        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+    public ResponseEntity<Map<String, String>> logout(@RequestBody(required = false) RefreshTokenDto refreshTokenDto) {
         Map<String, String> response = new HashMap<>();
         
-        // For JWT, we mainly rely on client-side token removal
-        // In a production environment, you might want to implement a token blacklist
+        // Revoke the presented token so it stops working before it expires
+        TokenClaims claims = currentTokenClaims();
+        if (claims != null) {
+            tokenRevocationStore.revoke(claims.jti(), claims.expiresAt());
+        }
+        if (refreshTokenDto != null && refreshTokenDto.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshTokenDto.getRefreshToken());
+        }
         response.put("message", "Successfully logged out");
         response.put("instructions", "Please remove the token from client storage");
         
@@ -117,34 +175,35 @@ public class AuthRestController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<Map<String, Object>> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<Map<String, Object>> getCurrentUser() {
         Map<String, Object> response = new HashMap<>();
         
-        if (authHeader == null || !authHeader.startsWith(SecurityParameters.PREFIX)) {
+        TokenClaims claims = currentTokenClaims();
+        if (claims == null) {
             response.put("error", "No valid token provided");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
 
+        // The source authentication uses: the credentials query behind the user cache, which local
+        // writes evict and whose TTL bounds how long another node's role change or deletion goes unseen
         try {
-            String token = authHeader.substring(SecurityParameters.PREFIX.length());
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(SecurityParameters.SECRET)).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            
-            String username = decodedJWT.getSubject();
-            User user = accountService.findUserByUsername(username);
-            
-            if (user != null) {
-                UserDto userDto = userMapper.toDto(user);
-                response.put("username", userDto.getUsername());
-                response.put("roles", userDto.getRoles());
-                return ResponseEntity.ok(response);
-            } else {
-                response.put("error", "User not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-        } catch (JWTVerificationException e) {
-            response.put("error", "Invalid or expired token");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.username());
+            response.put("username", userDetails.getUsername());
+            response.put("roles", userDetails.getAuthorities().stream()
+                    .map(authority -> RoleDto.builder().role(authority.getAuthority()).build())
+                    .toList());
+            return ResponseEntity.ok(response);
+        } catch (UsernameNotFoundException e) {
+            response.put("error", "User not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    private TokenClaims currentTokenClaims() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof TokenClaims claims) {
+            return claims;
         }
+        return null;
     }
 }
@@ -0,0 +1,31 @@
+package org.example.backend.web.api;
+
+import org.example.backend.security.SigningKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@CrossOrigin
+public class JwksController {
+
+    @Autowired
+    private SigningKeyRing signingKeyRing;
+
+    // Public keys for verifying our access tokens locally, selected by the token's kid header
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("keys", signingKeyRing.publishedKeys());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(response);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import org.example.backend.dto.ChangePasswordDto;
 import org.example.backend.dto.ProfileUpdateDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.security.PasswordHashingExecutor;
 import org.example.backend.service.UserManagementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController("customProfileController")
 @RequestMapping("/api/profile")
@@ -24,6 +26,9 @@ public class ProfileController {
     @Autowired
     private UserManagementService userManagementService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('ORDINARY')")
     public ResponseEntity<UserDto> getCurrentUserProfile() {
@@ -52,19 +57,16 @@ public class ProfileController {
 
     @PutMapping("/password")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ORDINARY')")
-    public ResponseEntity<Map<String, String>> changePassword(@Valid @RequestBody ChangePasswordDto changePasswordDto) {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
+    public CompletableFuture<ResponseEntity<Map<String, String>>> changePassword(@Valid @RequestBody ChangePasswordDto changePasswordDto) {
+        // Resolve the caller here: the security context does not follow the task onto the hashing pool
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        return passwordHashingExecutor.submit(() -> {
             userManagementService.changePassword(username, changePasswordDto);
-            
+
             Map<String, String> response = new HashMap<>();
             response.put("message", "Password changed successfully");
             return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        }).exceptionally(AsyncFailures::toResponse);
     }
 }
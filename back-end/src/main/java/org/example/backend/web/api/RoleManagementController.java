@@ -2,7 +2,10 @@ package org.example.backend.web.api;
 
 import jakarta.validation.Valid;
 import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.RoleMembersDto;
+import org.example.backend.dto.RoleMembersResultDto;
 import org.example.backend.service.RoleManagementService;
+import org.example.backend.service.RoleMembershipService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +22,9 @@ public class RoleManagementController {
     @Autowired
     private RoleManagementService roleManagementService;
 
+    @Autowired
+    private RoleMembershipService roleMembershipService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<RoleDto> createRole(@Valid @RequestBody RoleDto roleDto) {
@@ -58,4 +64,31 @@ public class RoleManagementController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
+
+    // Bulk grant: a list of usernames or a filter, applied with set-based statements in chunks
+    @PostMapping("/{roleName}/members")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoleMembersResultDto> addMembers(@PathVariable String roleName,
+                                                           @Valid @RequestBody RoleMembersDto members) {
+        try {
+            return ResponseEntity.ok(roleMembershipService.addMembers(roleName, members));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @DeleteMapping("/{roleName}/members")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoleMembersResultDto> removeMembers(@PathVariable String roleName,
+                                                              @Valid @RequestBody RoleMembersDto members) {
+        try {
+            return ResponseEntity.ok(roleMembershipService.removeMembers(roleName, members));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
 }
@@ -1,42 +1,163 @@
 package org.example.backend.web.api;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.example.backend.dto.CreateUserDto;
 import org.example.backend.dto.UpdateUserDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.dto.UserPageDto;
 import org.example.backend.dto.UserRoleDto;
+import org.example.backend.dto.UserSort;
+import org.example.backend.security.PasswordHashingExecutor;
+import org.example.backend.service.UserExportService;
+import org.example.backend.service.UserImportHeaderException;
+import org.example.backend.service.UserImportService;
 import org.example.backend.service.UserManagementService;
+import org.example.backend.service.UserSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin
 public class UserManagementController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    // Ceiling for the unpaged listing, kept for callers that still expect a plain array
+    static final int MAX_UNPAGED_LIMIT = 1000;
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+
     @Autowired
     private UserManagementService userManagementService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Value("${users.export.timeout:1h}")
+    private Duration exportTimeout;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<UserDto> createUser(@Valid @RequestBody CreateUserDto createUserDto) {
+    public CompletableFuture<ResponseEntity<?>> createUser(@Valid @RequestBody CreateUserDto createUserDto) {
+        return passwordHashingExecutor.submit(() -> userManagementService.createUser(createUserDto))
+                .<ResponseEntity<?>>thenApply(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser))
+                .exceptionally(AsyncFailures::toResponse);
+    }
+
+    // The body is read as it arrives; failed rows are listed in the result and the rest are imported
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importNdjson(InputStream body) {
+        return importUsers(body, UserImportFormat.NDJSON);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importCsv(InputStream body) {
+        return importUsers(body, UserImportFormat.CSV);
+    }
+
+    private ResponseEntity<?> importUsers(InputStream body, UserImportFormat format) {
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(userImportService.importUsers(reader, format));
+        } catch (UserImportHeaderException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            response.put("expected", e.getExpected());
+            response.put("received", e.getReceived());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalArgumentException | IOException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    // Rows are written as the cursor reads them, on an async request; nothing is collected first
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                                                             HttpServletRequest request) {
+        UserImportFormat exportFormat;
         try {
-            UserDto createdUser = userManagementService.createUser(createUserDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            exportFormat = UserImportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        boolean csv = exportFormat == UserImportFormat.CSV;
+        StreamingResponseBody body = out -> userExportService.exportUsers(out, exportFormat);
+        AsyncRequestTimeouts.extend(request, exportTimeout);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(csv ? "users.csv" : "users.ndjson").build().toString())
+                .body(body);
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = userManagementService.getAllUsers();
+    public ResponseEntity<UserPageDto> getUsers(@RequestParam(defaultValue = "username") String sort,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(userManagementService.getUsers(UserSort.fromParam(sort), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Typeahead over username, email and names; matches come from the in-memory search index
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<UserDto>> searchUsers(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > UserSearchIndex.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(userManagementService.searchUsers(q, limit));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam int limit) {
+        if (limit < 1 || limit > MAX_UNPAGED_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<UserDto> users = userManagementService.getAllUsers(limit);
         return ResponseEntity.ok(users);
     }
 
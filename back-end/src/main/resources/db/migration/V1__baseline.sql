@@ -0,0 +1,43 @@
+-- Baseline: schema.sql as it stood before migrations, less the CREATE DATABASE and USE (Flyway
+-- runs against the schema in the datasource URL). A database that was created from it, or by
+-- ddl-auto=update, is not empty, so Flyway records it at this version and applies the rest.
+
+-- Listage de la structure de table hahn-db. role
+CREATE TABLE IF NOT EXISTS `role` (
+  `role` varchar(255) NOT NULL,
+  PRIMARY KEY (`role`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Listage des données de la table hahn-db.role : ~2 rows (environ)
+INSERT INTO `role` (`role`) VALUES
+	('ADMIN'),
+	('ORDINARY');
+
+-- Listage de la structure de table hahn-db. user
+CREATE TABLE IF NOT EXISTS `user` (
+  `username` varchar(255) NOT NULL,
+  `password` varchar(255) DEFAULT NULL,
+  `email` varchar(255) DEFAULT NULL,
+  `first_name` varchar(255) DEFAULT NULL,
+  `last_name` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`username`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Listage des données de la table hahn-db.user : ~1 rows (environ)
+INSERT INTO `user` (`username`, `password`, `email`, `first_name`, `last_name`) VALUES
+	('fkyahya', '$2a$10$XNcBMhL779YQFdvC8RnCLOY6qUrBlo9dBZQTUtchtUdjYiQW4vpaq', 'fekyah0@gmail.com', 'Yahya123', 'FEKRANE');
+
+-- Listage de la structure de table hahn-db. user_roles
+CREATE TABLE IF NOT EXISTS `user_roles` (
+  `user_username` varchar(255) NOT NULL,
+  `roles_role` varchar(255) NOT NULL,
+  KEY `FKdt1fca9hsi6b8t4x9l1ds0tuj` (`roles_role`),
+  KEY `FK1misndtpfm9hx3ttvixdus8d1` (`user_username`),
+  CONSTRAINT `FK1misndtpfm9hx3ttvixdus8d1` FOREIGN KEY (`user_username`) REFERENCES `user` (`username`),
+  CONSTRAINT `FKdt1fca9hsi6b8t4x9l1ds0tuj` FOREIGN KEY (`roles_role`) REFERENCES `role` (`role`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Listage des données de la table hahn-db.user_roles : ~2 rows (environ)
+INSERT INTO `user_roles` (`user_username`, `roles_role`) VALUES
+	('fkyahya', 'ORDINARY'),
+	('fkyahya', 'ADMIN');
@@ -0,0 +1,17 @@
+-- Keys user_roles by (user_username, roles_role)
+
+-- Collapse duplicate grants left by the old bag mapping (usernames compare case-insensitively)
+CREATE TEMPORARY TABLE `user_roles_distinct` AS
+  SELECT DISTINCT `user_username`, `roles_role` FROM `user_roles`;
+DELETE FROM `user_roles`;
+INSERT INTO `user_roles` (`user_username`, `roles_role`)
+  SELECT `user_username`, `roles_role` FROM `user_roles_distinct`;
+DROP TEMPORARY TABLE `user_roles_distinct`;
+
+-- The primary key leads with user_username and the reverse index with roles_role, so they
+-- also back the two foreign keys and the single-column keys become redundant
+ALTER TABLE `user_roles`
+  ADD PRIMARY KEY (`user_username`, `roles_role`),
+  ADD KEY `idx_user_roles_role` (`roles_role`, `user_username`),
+  DROP KEY `FK1misndtpfm9hx3ttvixdus8d1`,
+  DROP KEY `FKdt1fca9hsi6b8t4x9l1ds0tuj`;
@@ -0,0 +1,38 @@
+-- Gives user and role numeric surrogate ids and re-keys user_roles on them. Usernames and role
+-- names stay unique and remain the keys the REST API uses.
+
+-- The old join rows reference the natural keys, which are about to stop being primary keys
+ALTER TABLE `user_roles`
+  DROP FOREIGN KEY `FK1misndtpfm9hx3ttvixdus8d1`,
+  DROP FOREIGN KEY `FKdt1fca9hsi6b8t4x9l1ds0tuj`;
+
+-- Existing rows are numbered as the column is added
+ALTER TABLE `role`
+  DROP PRIMARY KEY,
+  ADD COLUMN `id` int NOT NULL AUTO_INCREMENT FIRST,
+  ADD PRIMARY KEY (`id`),
+  ADD UNIQUE KEY `uk_role_role` (`role`);
+
+ALTER TABLE `user`
+  DROP PRIMARY KEY,
+  ADD COLUMN `id` bigint NOT NULL AUTO_INCREMENT FIRST,
+  ADD PRIMARY KEY (`id`),
+  ADD UNIQUE KEY `uk_user_username` (`username`);
+
+CREATE TABLE `user_roles_by_id` (
+  `user_id` bigint NOT NULL,
+  `role_id` int NOT NULL,
+  PRIMARY KEY (`user_id`,`role_id`),
+  KEY `idx_user_roles_role` (`role_id`,`user_id`),
+  CONSTRAINT `fk_user_roles_user` FOREIGN KEY (`user_id`) REFERENCES `user` (`id`),
+  CONSTRAINT `fk_user_roles_role` FOREIGN KEY (`role_id`) REFERENCES `role` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `user_roles_by_id` (`user_id`, `role_id`)
+  SELECT u.`id`, r.`id`
+  FROM `user_roles` ur
+  JOIN `user` u ON u.`username` = ur.`user_username`
+  JOIN `role` r ON r.`role` = ur.`roles_role`;
+
+DROP TABLE `user_roles`;
+RENAME TABLE `user_roles_by_id` TO `user_roles`;
@@ -0,0 +1,30 @@
+-- Token tables that ddl-auto=update used to create. IF NOT EXISTS keeps this a no-op on a
+-- database where it already did.
+
+CREATE TABLE IF NOT EXISTS `refresh_token` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `token_hash` varchar(64) NOT NULL,
+  `username` varchar(255) NOT NULL,
+  `family` varchar(36) NOT NULL,
+  `expires_at` bigint NOT NULL,
+  `used` bit(1) NOT NULL,
+  `revoked` bit(1) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_refresh_token_token_hash` (`token_hash`),
+  KEY `ix_refresh_token_family` (`family`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `revoked_token` (
+  `jti` varchar(36) NOT NULL,
+  `expires_at` bigint NOT NULL,
+  PRIMARY KEY (`jti`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `signing_key` (
+  `kid` varchar(36) NOT NULL,
+  `algorithm` varchar(10) NOT NULL,
+  `public_key` varbinary(128) NOT NULL,
+  `created_at` bigint NOT NULL,
+  `expires_at` bigint NOT NULL,
+  PRIMARY KEY (`kid`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
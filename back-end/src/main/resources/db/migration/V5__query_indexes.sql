@@ -0,0 +1,36 @@
+-- Indexes for the queries the back end runs, beyond the keys declared so far:
+--   user: lookups by username (uk_user_username, V3), keyset pages by username, by name and
+--         by email (idx_user_name and idx_user_email, V6), and email is now unique
+--   user_roles: roles of a user (primary key) and members of a role (idx_user_roles_role, V2/V3)
+--   refresh_token, revoked_token: the periodic purge and the revocation load, by expires_at
+
+-- Emails become unique. A database where two users share one (compared as the column's collation
+-- compares them, so case-insensitively) stops here with the count, before any change, instead of
+-- failing on the key with MySQL's bare duplicate-entry error. Resolve them, then restart:
+--   SELECT `email`, COUNT(*) FROM `user` WHERE `email` IS NOT NULL GROUP BY `email` HAVING COUNT(*) > 1;
+DROP PROCEDURE IF EXISTS `check_unique_user_emails`;
+
+DELIMITER $$
+CREATE PROCEDURE `check_unique_user_emails`()
+BEGIN
+  DECLARE duplicate_count INT;
+  DECLARE failure VARCHAR(128);
+  SELECT COUNT(*) INTO duplicate_count
+    FROM (SELECT `email` FROM `user` WHERE `email` IS NOT NULL GROUP BY `email` HAVING COUNT(*) > 1) duplicates;
+  IF duplicate_count > 0 THEN
+    SET failure = CONCAT(duplicate_count, ' email(s) are shared by several users; make user.email unique, then migrate');
+    SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = failure;
+  END IF;
+END$$
+DELIMITER ;
+
+CALL `check_unique_user_emails`();
+
+DROP PROCEDURE `check_unique_user_emails`;
+
+ALTER TABLE `user`
+  ADD UNIQUE KEY `uk_user_email` (`email`);
+
+CREATE INDEX `ix_refresh_token_expires_at` ON `refresh_token` (`expires_at`);
+
+CREATE INDEX `ix_revoked_token_expires_at` ON `revoked_token` (`expires_at`);
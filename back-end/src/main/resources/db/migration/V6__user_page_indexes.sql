@@ -0,0 +1,20 @@
+-- Indexes behind the keyset pages by name and by email. A database imported from schema.sql
+-- lacks them, while one that ddl-auto=update maintained already has them, and MySQL has no
+-- CREATE INDEX IF NOT EXISTS, so each is created through a statement chosen at run time.
+
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'user' AND index_name = 'idx_user_name'),
+              'DO 0',
+              'CREATE INDEX `idx_user_name` ON `user` (`last_name`, `first_name`, `username`)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Kept alongside uk_user_email (V5): the email page orders users without an email by username
+SET @ddl = IF(EXISTS (SELECT 1 FROM information_schema.statistics
+                      WHERE table_schema = DATABASE() AND table_name = 'user' AND index_name = 'idx_user_email'),
+              'DO 0',
+              'CREATE INDEX `idx_user_email` ON `user` (`email`, `username`)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
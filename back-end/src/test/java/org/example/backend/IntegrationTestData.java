@@ -0,0 +1,50 @@
+package org.example.backend;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.service.RoleRegistry;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Seeds the "test" profile database once per application context: roles ADMIN and ORDINARY and
+ * users user00..user29 holding both, all with {@link #PASSWORD}. Integration tests share the
+ * context (and the JVM-wide second-level cache), so they share this data too.
+ */
+public final class IntegrationTestData {
+
+    public static final int USERS = 30;
+    public static final String PASSWORD = "password123";
+
+    private IntegrationTestData() {
+    }
+
+    public static void seed(UserRepository userRepository, RoleRepository roleRepository,
+                            PasswordEncoder passwordEncoder, RoleRegistry roleRegistry) {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        Role admin = roleRepository.save(new Role("ADMIN"));
+        Role ordinary = roleRepository.save(new Role("ORDINARY"));
+        roleRegistry.reload();
+        String password = passwordEncoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username(String.format("user%02d", i))
+                    .password(password)
+                    .email(String.format("user%02d@example.com", i))
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .roles(new HashSet<>(Set.of(ordinary, admin)))
+                    .build());
+        }
+        userRepository.saveAll(users);
+    }
+}
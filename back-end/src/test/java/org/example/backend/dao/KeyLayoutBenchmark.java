@@ -0,0 +1,244 @@
+package org.example.backend.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The user/role tables keyed by username and role name ("natural", the layout before surrogate
+ * ids) against numeric ids with unique natural keys ("surrogate"), on a million generated users
+ * that all hold ORDINARY and one in ten ADMIN. Setup prints the size of every table and index.
+ * The benchmarks time the joins Hibernate issues for one user's roles and for the roles of a
+ * page, and a count over the reverse index.
+ *
+ * <p>Runs on an in-memory H2 database by default. H2 only reports whole-table sizes, and its
+ * B-trees are not InnoDB's. For real index sizes, point {@code -Dbenchmark.url} at an empty
+ * MySQL schema, for example
+ * {@code jdbc:mysql://localhost:3306/bench?user=root&password=...&rewriteBatchedStatements=true}.
+ * The benchmark only touches {@code bench_*} tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class KeyLayoutBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE = 100;
+    private static final int LOAD_BATCH = 10_000;
+    private static final List<String> TABLES = List.of("bench_user_roles", "bench_user", "bench_role");
+
+    private static final String NATURAL_ROLES_OF_USER = "SELECT r.role FROM bench_user u "
+            + "JOIN bench_user_roles ur ON ur.user_username = u.username "
+            + "JOIN bench_role r ON r.role = ur.roles_role WHERE u.username = ?";
+    private static final String SURROGATE_ROLES_OF_USER = "SELECT r.role FROM bench_user u "
+            + "JOIN bench_user_roles ur ON ur.user_id = u.id "
+            + "JOIN bench_role r ON r.id = ur.role_id WHERE u.username = ?";
+    private static final String NATURAL_PAGE_ROLES = "SELECT u.username, r.role FROM bench_user u "
+            + "JOIN bench_user_roles ur ON ur.user_username = u.username "
+            + "JOIN bench_role r ON r.role = ur.roles_role WHERE u.username IN (%s)";
+    private static final String SURROGATE_PAGE_ROLES = "SELECT u.username, r.role FROM bench_user u "
+            + "JOIN bench_user_roles ur ON ur.user_id = u.id "
+            + "JOIN bench_role r ON r.id = ur.role_id WHERE u.username IN (%s)";
+    private static final String NATURAL_COUNT_MEMBERS = "SELECT COUNT(*) FROM bench_user_roles ur "
+            + "JOIN bench_role r ON r.role = ur.roles_role WHERE r.role = ?";
+    private static final String SURROGATE_COUNT_MEMBERS = "SELECT COUNT(*) FROM bench_user_roles ur "
+            + "JOIN bench_role r ON r.id = ur.role_id WHERE r.role = ?";
+
+    @Param({"natural", "surrogate"})
+    private String layout;
+
+    private Connection connection;
+    private PreparedStatement rolesOfUser;
+    private PreparedStatement pageRoles;
+    private PreparedStatement countMembers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("benchmark.url",
+                "jdbc:h2:mem:keys;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        boolean surrogate = layout.equals("surrogate");
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+            for (String ddl : surrogate ? surrogateSchema() : naturalSchema()) {
+                statement.execute(ddl);
+            }
+        }
+        load(surrogate);
+        report();
+
+        rolesOfUser = connection.prepareStatement(surrogate ? SURROGATE_ROLES_OF_USER : NATURAL_ROLES_OF_USER);
+        String placeholders = String.join(", ", Collections.nCopies(PAGE, "?"));
+        pageRoles = connection.prepareStatement((surrogate ? SURROGATE_PAGE_ROLES : NATURAL_PAGE_ROLES).formatted(placeholders));
+        countMembers = connection.prepareStatement(surrogate ? SURROGATE_COUNT_MEMBERS : NATURAL_COUNT_MEMBERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int rolesOfOneUser() throws SQLException {
+        rolesOfUser.setString(1, username(ThreadLocalRandom.current().nextInt(USERS)));
+        return drain(rolesOfUser);
+    }
+
+    // The second query of a list page: the roles of a run of consecutive usernames
+    @Benchmark
+    public int rolesOfOnePage() throws SQLException {
+        int first = ThreadLocalRandom.current().nextInt(USERS - PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            pageRoles.setString(i + 1, username(first + i));
+        }
+        return drain(pageRoles);
+    }
+
+    // Reads 100k entries of the reverse index
+    @Benchmark
+    public int countAdmins() throws SQLException {
+        countMembers.setString(1, "ADMIN");
+        try (ResultSet rows = countMembers.executeQuery()) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    private static List<String> naturalSchema() {
+        return List.of(
+                "CREATE TABLE bench_role (role VARCHAR(255) NOT NULL PRIMARY KEY)",
+                "CREATE TABLE bench_user (username VARCHAR(255) NOT NULL PRIMARY KEY, password VARCHAR(255), "
+                        + "email VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255))",
+                "CREATE INDEX bench_idx_user_name ON bench_user (last_name, first_name, username)",
+                "CREATE INDEX bench_idx_user_email ON bench_user (email, username)",
+                "CREATE TABLE bench_user_roles (user_username VARCHAR(255) NOT NULL, roles_role VARCHAR(255) NOT NULL, "
+                        + "PRIMARY KEY (user_username, roles_role))",
+                "CREATE INDEX bench_idx_user_roles_role ON bench_user_roles (roles_role, user_username)");
+    }
+
+    private static List<String> surrogateSchema() {
+        return List.of(
+                "CREATE TABLE bench_role (id INT NOT NULL AUTO_INCREMENT PRIMARY KEY, role VARCHAR(255) NOT NULL, "
+                        + "CONSTRAINT bench_uk_role_role UNIQUE (role))",
+                "CREATE TABLE bench_user (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, username VARCHAR(255) NOT NULL, "
+                        + "password VARCHAR(255), email VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255), "
+                        + "CONSTRAINT bench_uk_user_username UNIQUE (username))",
+                "CREATE INDEX bench_idx_user_name ON bench_user (last_name, first_name, username)",
+                "CREATE INDEX bench_idx_user_email ON bench_user (email, username)",
+                "CREATE TABLE bench_user_roles (user_id BIGINT NOT NULL, role_id INT NOT NULL, "
+                        + "PRIMARY KEY (user_id, role_id))",
+                "CREATE INDEX bench_idx_user_roles_role ON bench_user_roles (role_id, user_id)");
+    }
+
+    private void load(boolean surrogate) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO bench_role (role) VALUES ('ADMIN'), ('ORDINARY')");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_user (username, password, email, first_name, last_name) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < USERS; i++) {
+                insert.setString(1, username(i));
+                insert.setString(2, "$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+                insert.setString(3, username(i) + "@example.com");
+                insert.setString(4, "First" + (i % 1000));
+                insert.setString(5, "Last" + (i % 5000));
+                insert.addBatch();
+                if ((i + 1) % LOAD_BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+        }
+        // Every user holds ORDINARY; usernames ending in 0 (one in ten) also hold ADMIN
+        try (Statement statement = connection.createStatement()) {
+            String columns = surrogate ? "(user_id, role_id) SELECT u.id, r.id" : "(user_username, roles_role) SELECT u.username, r.role";
+            statement.execute("INSERT INTO bench_user_roles " + columns
+                    + " FROM bench_user u JOIN bench_role r ON r.role = 'ORDINARY'");
+            statement.execute("INSERT INTO bench_user_roles " + columns
+                    + " FROM bench_user u JOIN bench_role r ON r.role = 'ADMIN' WHERE u.username LIKE '%0'");
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    // Bytes per index on MySQL (InnoDB statistics), bytes per table on H2
+    private void report() throws SQLException {
+        boolean mysql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+        try (Statement statement = connection.createStatement()) {
+            if (mysql) {
+                for (String table : TABLES) {
+                    statement.execute("ANALYZE TABLE " + table);
+                }
+                try (ResultSet rows = statement.executeQuery("SELECT table_name, index_name, stat_value * @@innodb_page_size "
+                        + "FROM mysql.innodb_index_stats WHERE database_name = DATABASE() AND table_name LIKE 'bench\\_%' "
+                        + "AND stat_name = 'size' ORDER BY table_name, index_name")) {
+                    while (rows.next()) {
+                        System.out.printf("%s layout: %s.%s %,d bytes%n", layout, rows.getString(1), rows.getString(2), rows.getLong(3));
+                    }
+                }
+            } else {
+                for (String table : TABLES) {
+                    try (ResultSet rows = statement.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+                        rows.next();
+                        System.out.printf("%s layout: %s %,d bytes (table and indexes)%n", layout, table, rows.getLong(1));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String username(int i) {
+        return String.format("user%07d", i);
+    }
+
+    private static int drain(PreparedStatement query) throws SQLException {
+        int rows = 0;
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeyLayoutBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
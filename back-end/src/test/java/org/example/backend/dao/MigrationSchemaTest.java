@@ -0,0 +1,160 @@
+package org.example.backend.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.backend.dao.entity.RefreshToken;
+import org.example.backend.dao.entity.RevokedToken;
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.SigningKey;
+import org.example.backend.dao.entity.User;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies db/migration to a real MySQL and checks the entities against the result, as
+ * ddl-auto=validate would at startup. The integration tests cannot cover this: they run on H2
+ * with a schema generated from the entities. No Spring context is started, so the shared one and
+ * its second-level cache are left alone. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Flyway migrations")
+class MigrationSchemaTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0").withUsername("root");
+
+    @Test
+    @DisplayName("Should build the schema the entities expect on an empty database")
+    void emptyDatabase_ShouldMigrateToTheEntitySchema() throws SQLException {
+        // Given
+        String url = createDatabase("fresh");
+
+        // When
+        flyway(url).migrate();
+
+        // Then
+        assertDoesNotThrow(() -> validateEntities(url));
+        assertTrue(userIndexes(url).containsAll(List.of("idx_user_name", "idx_user_email", "uk_user_email")));
+    }
+
+    @Test
+    @DisplayName("Should take a database imported from schema.sql as V1 and upgrade it")
+    void databaseFromSchemaSql_ShouldBaselineAndMigrateToTheEntitySchema() throws SQLException {
+        // Given: V1 is schema.sql, applied here without leaving any migration history behind
+        String url = createDatabase("imported");
+        Flyway.configure().dataSource(url, MYSQL.getUsername(), MYSQL.getPassword()).target("1").load().migrate();
+        execute(url, "DROP TABLE flyway_schema_history");
+
+        // When
+        flyway(url).migrate();
+
+        // Then
+        assertDoesNotThrow(() -> validateEntities(url));
+        assertTrue(userIndexes(url).containsAll(List.of("idx_user_name", "idx_user_email", "uk_user_email")));
+        assertEquals(List.of("ADMIN", "ORDINARY"), strings(url, "SELECT r.role FROM user u "
+                + "JOIN user_roles ur ON ur.user_id = u.id JOIN role r ON r.id = ur.role_id "
+                + "WHERE u.username = 'fkyahya' ORDER BY r.role"));
+    }
+
+    @Test
+    @DisplayName("Should stop before making emails unique when two users share one")
+    void sharedEmail_ShouldFailWithACountOfTheDuplicates() throws SQLException {
+        // Given
+        String url = createDatabase("shared_email");
+        Flyway.configure().dataSource(url, MYSQL.getUsername(), MYSQL.getPassword()).target("4").load().migrate();
+        execute(url, "INSERT INTO `user` (username, email) VALUES ('alice', 'same@example.com'), ('bob', 'Same@example.com')");
+
+        // When
+        FlywayException failure = assertThrows(FlywayException.class, () -> flyway(url).migrate());
+
+        // Then
+        assertTrue(failure.getMessage().contains("1 email(s) are shared by several users"));
+        assertFalse(userIndexes(url).contains("uk_user_email"));
+    }
+
+    // Configured as in application.properties
+    private static Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, MYSQL.getUsername(), MYSQL.getPassword())
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    // Starts Hibernate as ddl-auto=validate does, with the naming strategies Spring Boot
+    // configures and no second-level cache; a mismatch fails the session factory build
+    private static void validateEntities(String url) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, MYSQL.getUsername())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, MYSQL.getPassword())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .build();
+        try (SessionFactory sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(User.class, Role.class, RefreshToken.class, RevokedToken.class, SigningKey.class)
+                .buildMetadata()
+                .buildSessionFactory()) {
+            // Built and validated
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private static String createDatabase(String name) throws SQLException {
+        execute(MYSQL.getJdbcUrl(), "CREATE DATABASE `" + name + "`");
+        return "jdbc:mysql://" + MYSQL.getHost() + ":" + MYSQL.getMappedPort(MySQLContainer.MYSQL_PORT) + "/" + name
+                + "?useSSL=false&allowPublicKeyRetrieval=true";
+    }
+
+    private static List<String> userIndexes(String url) throws SQLException {
+        return strings(url, "SELECT DISTINCT index_name FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'user'");
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, MYSQL.getUsername(), MYSQL.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> strings(String url, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, MYSQL.getUsername(), MYSQL.getPassword());
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                values.add(rows.getString(1));
+            }
+        }
+        return values;
+    }
+}
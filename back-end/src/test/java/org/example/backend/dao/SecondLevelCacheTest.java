@@ -0,0 +1,125 @@
+package org.example.backend.dao;
+
+import org.example.backend.IntegrationTestData;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.service.RoleRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Second-level cache")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        IntegrationTestData.seed(userRepository, roleRepository, passwordEncoder, roleRegistry);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("A repeated findById for a role is served without SQL")
+    void roleFindById_ShouldHitTheCacheOnRepeat() {
+        // Given
+        Integer admin = roleRegistry.idOf("ADMIN").orElseThrow();
+        roleRepository.findById(admin);
+
+        // When
+        statistics.clear();
+        roleRepository.findById(admin);
+
+        // Then
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("A user's role collection is read from the cache on the second request")
+    void userRoles_ShouldComeFromTheCacheOnRepeat() {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        statistics.clear();
+        int first = transaction.execute(status -> userRepository.findByUsername("user20").orElseThrow().getRoles().size());
+        long cold = statistics.getPrepareStatementCount();
+
+        // When
+        statistics.clear();
+        int second = transaction.execute(status -> userRepository.findByUsername("user20").orElseThrow().getRoles().size());
+
+        // Then: only the user row is selected; role ids and roles come from their regions
+        assertEquals(2, first);
+        assertEquals(2, second);
+        assertEquals(2, cold);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 3);
+    }
+
+    @Test
+    @DisplayName("The Data REST role resource stops issuing SQL once cached, and hits are exported as metrics")
+    @WithMockUser(roles = "ADMIN")
+    void dataRestRole_ShouldBeCachedAndMetered() throws Exception {
+        // Given
+        mockMvc.perform(get("/roles/ORDINARY")).andExpect(status().isOk());
+
+        // When
+        statistics.clear();
+        mockMvc.perform(get("/roles/ORDINARY")).andExpect(status().isOk());
+
+        // Then
+        assertEquals(0, statistics.getPrepareStatementCount());
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "org.example.backend.dao.entity.Role")
+                .tag("result", "hit")
+                .functionCounter();
+        assertTrue(hits != null && hits.count() > 0);
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.backend.dao.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The routing key for each kind of transaction. No application context is started: the shared
+ * integration-test context runs without a replica, and a second context would bring up a second
+ * second-level cache in the same JVM.
+ */
+@DisplayName("ReadWriteRoutingDataSource Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadYourWritesWindow window = new ReadYourWritesWindow(60_000);
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadWriteRoutingDataSource(primary, replica, window, meterRegistry);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary, metered")
+    void readsAndWrites_ShouldBeSplitAndMetered() throws SQLException {
+        // Given
+        Connection replicaConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // When & Then
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+        assertSame(replicaConnection, routing.getConnection());
+        verify(primary, never()).getConnection();
+        assertEquals(1, count("primary", "read-write"));
+        assertEquals(2, count("replica", "read-only"));
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after their write while others use the replica")
+    void ownWrite_ShouldBeReadBackFromThePrimary() {
+        // Given
+        window.recordWrite("user02");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        signInAs("user02");
+        Object writer = routing.determineCurrentLookupKey();
+        signInAs("user03");
+        Object other = routing.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReadWriteRoutingDataSource.Target.PRIMARY, writer);
+        assertEquals(ReadWriteRoutingDataSource.Target.REPLICA, other);
+        assertEquals(1, count("primary", "read-your-writes"));
+        assertEquals(1.0, meterRegistry.get("datasource.routing.pinned.users").gauge().value());
+    }
+
+    private void signInAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    private double count(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
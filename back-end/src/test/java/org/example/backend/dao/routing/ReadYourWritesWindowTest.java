@@ -0,0 +1,120 @@
+package org.example.backend.dao.routing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.example.backend.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ReadYourWritesWindow Tests")
+class ReadYourWritesWindowTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final ReadYourWritesWindow window = new ReadYourWritesWindow(2_000, clock::get);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should pin a user for the window after their write, then let them go")
+    void isPinned_WithinAndAfterWindow() {
+        window.recordWrite("alice");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_999));
+        assertTrue(window.isPinned("Alice"));
+        assertFalse(window.isPinned("bob"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertFalse(window.isPinned("alice"));
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    @DisplayName("Should record the authenticated user's committed read-write transactions only")
+    void afterCommit_ShouldRecordReadWriteCommitsOfAuthenticatedUsers() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_ORDINARY")));
+
+        window.afterCommit(new SimpleTransactionStatus(), new IllegalStateException("commit failed"));
+        assertFalse(window.isCurrentUserPinned());
+
+        window.afterCommit(readOnly(), null);
+        assertFalse(window.isCurrentUserPinned());
+
+        window.afterCommit(new SimpleTransactionStatus(), null);
+        assertTrue(window.isCurrentUserPinned());
+    }
+
+    @Test
+    @DisplayName("Should pin the caller after a write committed on the password-hashing pool")
+    void afterCommit_OnHashingPool_ShouldPinTheCaller() throws Exception {
+        // Given
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(1, 1, 1, new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        try {
+            // When: the write commits on a pool thread, as createUser and changePassword do
+            hashing.submit(() -> {
+                window.afterCommit(new SimpleTransactionStatus(), null);
+                return null;
+            }).get(5, TimeUnit.SECONDS);
+        } finally {
+            hashing.shutdown();
+        }
+
+        // Then
+        assertTrue(window.isPinned("alice"));
+        assertTrue(window.isCurrentUserPinned());
+    }
+
+    @Test
+    @DisplayName("Should never pin anonymous requests")
+    void afterCommit_Anonymous_ShouldNotPin() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        window.afterCommit(new SimpleTransactionStatus(), null);
+
+        assertFalse(window.isCurrentUserPinned());
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    @DisplayName("Should drop expired users once the map is full")
+    void recordWrite_ManyUsers_ShouldStayBounded() {
+        for (int i = 0; i < ReadYourWritesWindow.MAX_TRACKED_USERS; i++) {
+            window.recordWrite("user" + i);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        window.recordWrite("late");
+
+        assertEquals(1, window.size());
+        assertTrue(window.isPinned("late"));
+    }
+
+    private static SimpleTransactionStatus readOnly() {
+        return new SimpleTransactionStatus() {
+            @Override
+            public boolean isReadOnly() {
+                return true;
+            }
+        };
+    }
+}
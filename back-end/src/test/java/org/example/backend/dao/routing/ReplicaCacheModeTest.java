@@ -0,0 +1,86 @@
+package org.example.backend.dao.routing;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaCacheMode Tests")
+class ReplicaCacheModeTest {
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final Session session = mock(Session.class);
+    private final ReadYourWritesWindow window = new ReadYourWritesWindow(60_000);
+    private final ReplicaCacheMode replicaCacheMode = new ReplicaCacheMode(entityManagerFactory, window);
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(session.isOpen()).thenReturn(true);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should only read the cache in a replica transaction, then restore the session's mode")
+    void replicaTransaction_ShouldNotPutIntoTheCache() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        replicaCacheMode.afterBegin(new SimpleTransactionStatus(), null);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Then
+        InOrder order = inOrder(session);
+        order.verify(session).setCacheMode(CacheMode.GET);
+        order.verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    @DisplayName("Should leave read-write and pinned read-only transactions on the primary's cache mode")
+    void primaryTransactions_ShouldKeepTheirCacheMode() {
+        // When: read-write
+        replicaCacheMode.afterBegin(new SimpleTransactionStatus(), null);
+
+        // When: read-only, by a user who just wrote
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_ORDINARY")));
+        window.recordWrite("alice");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaCacheMode.afterBegin(new SimpleTransactionStatus(), null);
+
+        // Then
+        verify(session, never()).setCacheMode(any());
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.backend.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dto.UserDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import lombok.Data;
+
+/**
+ * Maps a list of users with roles through the reflective ModelMapper path the mappers used to
+ * take and through the hand-written UserMapper. Run {@link #main}, which adds the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int users;
+
+    private List<User> entities;
+    private UserMapper userMapper;
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        ReflectionTestUtils.setField(userMapper, "roleMapper", new RoleMapper());
+        // RoleDto no longer has a no-args constructor; the legacy path maps roles to the old mutable shape
+        modelMapper.typeMap(User.class, UserDto.class).addMappings(mapping -> mapping.skip(UserDto::setRoles));
+
+        Role admin = new Role("ADMIN");
+        Role ordinary = new Role("ORDINARY");
+        entities = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            entities.add(User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .roles(i % 10 == 0 ? Set.of(ordinary, admin) : Set.of(ordinary))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void modelMapper(Blackhole blackhole) {
+        for (User user : entities) {
+            UserDto userDto = modelMapper.map(user, UserDto.class);
+            List<LegacyRoleDto> roles = new ArrayList<>();
+            for (Role role : user.getRoles()) {
+                roles.add(modelMapper.map(role, LegacyRoleDto.class));
+            }
+            blackhole.consume(userDto);
+            blackhole.consume(roles);
+        }
+    }
+
+    @Benchmark
+    public List<UserDto> handWritten() {
+        return userMapper.toDtoList(entities);
+    }
+
+    @Data
+    public static class LegacyRoleDto {
+        private String role;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.backend.mapper;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dto.CreateUserDto;
+import org.example.backend.dto.UpdateUserDto;
+import org.example.backend.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserMapperTest {
+
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = new UserMapper();
+        ReflectionTestUtils.setField(userMapper, "roleMapper", new RoleMapper());
+    }
+
+    @Test
+    void toDto_ShouldCopyFieldsAndShareRoleInstances() {
+        // Given
+        User alice = user("alice", new Role("ADMIN"), new Role("ORDINARY"));
+        User bob = user("bob", new Role("ORDINARY"));
+
+        // When
+        List<UserDto> dtos = userMapper.toDtoList(List.of(alice, bob));
+
+        // Then
+        UserDto first = dtos.get(0);
+        assertEquals("alice", first.getUsername());
+        assertEquals("alice@example.com", first.getEmail());
+        assertEquals("First", first.getFirstName());
+        assertEquals("Last", first.getLastName());
+        assertEquals("ADMIN", first.getRoles().get(0).getRole());
+        assertSame(first.getRoles().get(1), dtos.get(1).getRoles().get(0));
+    }
+
+    @Test
+    void toDto_WithoutRoles_ShouldKeepNullRoles() {
+        // When
+        UserDto dto = userMapper.toDto(user("carol"));
+
+        // Then
+        assertNull(dto.getRoles());
+        assertNull(userMapper.toDto((User) null));
+    }
+
+    @Test
+    void toEntity_ShouldCopyCredentialsAndProfileWithoutRoles() {
+        // Given
+        CreateUserDto createUserDto = new CreateUserDto("dave", "secret1", "dave@example.com", "Dave", "D");
+
+        // When
+        User user = userMapper.toEntity(createUserDto);
+
+        // Then
+        assertEquals("dave", user.getUsername());
+        assertEquals("secret1", user.getPassword());
+        assertEquals("dave@example.com", user.getEmail());
+        assertEquals("Dave", user.getFirstName());
+        assertEquals("D", user.getLastName());
+        assertNull(user.getRoles());
+    }
+
+    @Test
+    void updateEntity_ShouldOverwriteEditableFieldsIncludingNulls() {
+        // Given
+        User user = user("erin", new Role("ADMIN"));
+        user.setPassword("hash");
+        UpdateUserDto updateUserDto = UpdateUserDto.builder().firstName("Renamed").build();
+
+        // When
+        userMapper.updateEntity(user, updateUserDto);
+
+        // Then: same as the ModelMapper mapping it replaces, which did not skip nulls
+        assertEquals("Renamed", user.getFirstName());
+        assertNull(user.getEmail());
+        assertNull(user.getLastName());
+        assertEquals("erin", user.getUsername());
+        assertEquals("hash", user.getPassword());
+        assertEquals(1, user.getRoles().size());
+    }
+
+    @Test
+    void toDtoList_FromRows_ShouldGroupRolesPerUser() {
+        // Given
+        List<UserRow> users = List.of(new UserRow("a", "a@x", "A", "One"), new UserRow("b", "b@x", "B", "Two"));
+        List<UserRoleRow> roles = List.of(new UserRoleRow("b", "ADMIN"), new UserRoleRow("a", "ADMIN"));
+
+        // When
+        List<UserDto> dtos = userMapper.toDtoList(users, roles);
+
+        // Then
+        assertEquals("a", dtos.get(0).getUsername());
+        assertSame(dtos.get(0).getRoles().get(0), dtos.get(1).getRoles().get(0));
+    }
+
+    private static User user(String username, Role... roles) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .firstName("First")
+                .lastName("Last")
+                .roles(roles.length == 0 ? null : new LinkedHashSet<>(List.of(roles)))
+                .build();
+    }
+}
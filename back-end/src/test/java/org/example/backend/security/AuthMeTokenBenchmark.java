@@ -0,0 +1,92 @@
+package org.example.backend.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Token work done for one {@code GET /api/auth/me}: previously the filter and the controller
+ * each built a verifier and checked the signature; now the filter checks once (or hits the
+ * cache) and the controller reads the claims from the security context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthMeTokenBenchmark {
+
+    // The shared HMAC secret tokens were signed with before the ES256 key ring
+    private static final String LEGACY_SECRET = "YahyaHahn";
+
+    private String legacyToken;
+    private String token;
+    private TokenService tokenService;
+    private TokenEngine tokenEngine;
+
+    @Setup
+    public void setUp() {
+        legacyToken = JWT.create()
+                .withSubject("benchmark")
+                .withClaim("roles", List.of("ADMIN"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME))
+                .sign(Algorithm.HMAC256(LEGACY_SECRET));
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), 60_000, SecurityParameters.EXPIRATION_TIME);
+        signingKeyRing.rotate();
+        tokenService = new TokenService(signingKeyRing, SecurityParameters.EXPIRATION_TIME);
+        token = tokenService.issue("benchmark", List.of(new SimpleGrantedAuthority("ADMIN"))).token();
+        tokenEngine = new TokenEngine(tokenService, new AuthorityRegistry(), new SimpleMeterRegistry());
+        tokenEngine.authenticate(token);
+    }
+
+    @Benchmark
+    public String legacyFilterAndControllerVerify() {
+        DecodedJWT inFilter = JWT.require(Algorithm.HMAC256(LEGACY_SECRET)).build().verify(legacyToken);
+        DecodedJWT inController = JWT.require(Algorithm.HMAC256(LEGACY_SECRET)).build().verify(legacyToken);
+        return inFilter.getSubject() + inController.getSubject();
+    }
+
+    @Benchmark
+    public String singleSignatureCheck() {
+        TokenClaims claims = tokenService.claims(tokenService.verify(token));
+        return claims.username();
+    }
+
+    @Benchmark
+    public String cachedFilterThenSecurityContext() {
+        Authentication authentication = tokenEngine.authenticate(token);
+        return ((TokenClaims) authentication.getDetails()).username();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthMeTokenBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.backend.security;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("AuthorityRegistry Tests")
+class AuthorityRegistryTest {
+
+    private final AuthorityRegistry registry = new AuthorityRegistry();
+
+    @Test
+    @DisplayName("Should prefix roles once and hand out the same immutable list per combination")
+    void authoritiesFor_SameRoles_ShouldReturnCanonicalList() {
+        List<GrantedAuthority> first = registry.authoritiesFor(List.of("ADMIN", "ROLE_ORDINARY"));
+        List<GrantedAuthority> second = registry.authoritiesFor(List.of("ADMIN", "ROLE_ORDINARY"));
+
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_ORDINARY"), first.stream().map(GrantedAuthority::getAuthority).toList());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(() -> "ROLE_ROOT"));
+    }
+
+    @Test
+    @DisplayName("Should stop caching past the combination limit but still answer")
+    void authoritiesFor_ManyCombinations_ShouldStayBounded() {
+        for (int i = 0; i < AuthorityRegistry.MAX_ROLE_SETS + 100; i++) {
+            assertEquals("ROLE_R" + i, registry.authoritiesFor(List.of("R" + i)).get(0).getAuthority());
+        }
+
+        assertEquals(AuthorityRegistry.MAX_ROLE_SETS, registry.size());
+    }
+}
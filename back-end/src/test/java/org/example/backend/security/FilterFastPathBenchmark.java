@@ -0,0 +1,119 @@
+package org.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Authenticated fast path of the JWT filter for a token already in the cache: the previous
+ * substring/trim, getBytes-and-digest and per-request authority building against the offset
+ * based lookup. Run {@link #main}, which adds the GC profiler; compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterFastPathBenchmark {
+
+    private String header;
+    private TokenEngine tokenEngine;
+    private final ConcurrentHashMap<LegacyDigest, TokenClaims> legacyCache = new ConcurrentHashMap<>();
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(FilterFastPathBenchmark::newSha256);
+
+    @Setup
+    public void setUp() {
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), 60_000, SecurityParameters.EXPIRATION_TIME);
+        signingKeyRing.rotate();
+        TokenService tokenService = new TokenService(signingKeyRing, SecurityParameters.EXPIRATION_TIME);
+        String token = tokenService.issue("benchmark",
+                List.of(new SimpleGrantedAuthority("ADMIN"), new SimpleGrantedAuthority("ORDINARY"))).token();
+        header = SecurityParameters.PREFIX + token;
+        tokenEngine = new TokenEngine(tokenService, new AuthorityRegistry(), new SimpleMeterRegistry());
+        tokenEngine.authenticate(token);
+        legacyCache.put(legacyDigest(token), tokenService.claims(tokenService.verify(token)));
+    }
+
+    @Benchmark
+    public Authentication legacyCopyDigestAndBuildAuthorities() {
+        String jwt = header.substring(SecurityParameters.PREFIX.length()).trim();
+        TokenClaims claims = legacyCache.get(legacyDigest(jwt));
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : claims.roles()) {
+            String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+            authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
+        }
+        return new UsernamePasswordAuthenticationToken(claims.username(), null, authorities);
+    }
+
+    @Benchmark
+    public Authentication offsetLookup() {
+        int start = SecurityParameters.PREFIX.length();
+        int end = header.length();
+        while (start < end && header.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return tokenEngine.authenticate(header, start, end);
+    }
+
+    private LegacyDigest legacyDigest(String token) {
+        byte[] hash = sha256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (hash[i] & 0xFF);
+            low = (low << 8) | (hash[i + 8] & 0xFF);
+        }
+        return new LegacyDigest(high, low);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record LegacyDigest(long high, long low) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FilterFastPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
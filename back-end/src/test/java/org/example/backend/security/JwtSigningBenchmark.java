@@ -0,0 +1,142 @@
+package org.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Sign and verify cost of an access token per JWT algorithm. java-jwt has no EdDSA, so Ed25519
+ * is measured as the raw JDK signature over the same header.payload bytes; the JWT encoding
+ * overhead visible in the other rows would come on top.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class JwtState {
+
+        @Param({"HS256", "ES256", "RS256"})
+        public String algorithmName;
+
+        Algorithm algorithm;
+        JWTVerifier verifier;
+        String token;
+
+        @Setup
+        public void setUp() throws Exception {
+            algorithm = switch (algorithmName) {
+                case "HS256" -> Algorithm.HMAC256("a-32-byte-shared-secret-for-hs256");
+                case "ES256" -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                    generator.initialize(new ECGenParameterSpec("secp256r1"));
+                    KeyPair keyPair = generator.generateKeyPair();
+                    yield Algorithm.ECDSA256((ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate());
+                }
+                case "RS256" -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                    generator.initialize(2048);
+                    KeyPair keyPair = generator.generateKeyPair();
+                    yield Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+                }
+                default -> throw new IllegalArgumentException(algorithmName);
+            };
+            verifier = JWT.require(algorithm).build();
+            token = accessToken().sign(algorithm);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Ed25519State {
+
+        KeyPair keyPair;
+        byte[] signingInput;
+        byte[] signature;
+
+        @Setup
+        public void setUp() throws Exception {
+            keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            String token = accessToken().sign(Algorithm.HMAC256("only-used-for-a-realistic-payload"));
+            signingInput = token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+            signature = ed25519Sign(this);
+        }
+    }
+
+    @Benchmark
+    public String sign(JwtState state) {
+        return accessToken().sign(state.algorithm);
+    }
+
+    @Benchmark
+    public DecodedJWT verify(JwtState state) {
+        return state.verifier.verify(state.token);
+    }
+
+    @Benchmark
+    public byte[] ed25519RawSign(Ed25519State state) throws Exception {
+        return ed25519Sign(state);
+    }
+
+    @Benchmark
+    public boolean ed25519RawVerify(Ed25519State state) throws Exception {
+        Signature verifier = Signature.getInstance("Ed25519");
+        verifier.initVerify(state.keyPair.getPublic());
+        verifier.update(state.signingInput);
+        return verifier.verify(state.signature);
+    }
+
+    private static byte[] ed25519Sign(Ed25519State state) throws Exception {
+        Signature signer = Signature.getInstance("Ed25519");
+        signer.initSign(state.keyPair.getPrivate());
+        signer.update(state.signingInput);
+        return signer.sign();
+    }
+
+    private static JWTCreator.Builder accessToken() {
+        return JWT.create()
+                .withKeyId("3f1c0b7e-3c1e-4a53-9d7e-8f3a2c9b1d20")
+                .withJWTId("7a0e5b62-1c7d-4c55-a9f3-2b8d6e4f0c11")
+                .withSubject("benchmark")
+                .withClaim("roles", List.of("ADMIN", "ORDINARY"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
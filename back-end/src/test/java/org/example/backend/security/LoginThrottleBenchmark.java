@@ -0,0 +1,78 @@
+package org.example.backend.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput of {@link LoginThrottle} with eight threads: all hammering one username (the
+ * credential-stuffing case, every attempt refused after the burst) and spread over many keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoginThrottleBenchmark {
+
+    private static final int KEYS = 4_096;
+
+    private LoginThrottle throttle;
+    private String[] usernames;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        throttle = new LoginThrottle(20, 60, 5, 5, new SimpleMeterRegistry());
+        usernames = new String[KEYS];
+        addresses = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            usernames[i] = "user" + i;
+            addresses[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean sameUsernameUnderAttack() {
+        return attempt("victim", addresses[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public boolean spreadAcrossKeys() {
+        int i = ThreadLocalRandom.current().nextInt(KEYS);
+        return attempt(usernames[i], addresses[i]);
+    }
+
+    private boolean attempt(String username, String address) {
+        try {
+            throttle.acquire(username, address);
+            return true;
+        } catch (LoginThrottledException e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginThrottleBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.backend.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 20 attempts per address and 5 per username, each refilling one token per 12 seconds
+        throttle = new LoginThrottle(20, 5, 5, 5, 1_000, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst per username, then refuse with a Retry-After")
+    void acquire_UsernameBurstSpent_ShouldThrottle() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("alice", "10.0.0." + i);
+        }
+
+        LoginThrottledException throttled =
+                assertThrows(LoginThrottledException.class, () -> throttle.acquire("Alice", "10.0.0.9"));
+        assertEquals(12, throttled.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("security.login.throttled").tag("key", "username").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should hand out one more attempt per refill interval")
+    void acquire_AfterRefillInterval_ShouldAllowAgain() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("alice", "10.0.0.1");
+        }
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("alice", "10.0.0.1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(12));
+
+        assertDoesNotThrow(() -> throttle.acquire("alice", "10.0.0.1"));
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("alice", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should limit one address spraying many usernames")
+    void acquire_AddressBurstSpent_ShouldThrottle() {
+        for (int i = 0; i < 20; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("fresh", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("fresh", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.get("security.login.throttled").tag("key", "ip").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep tracked keys bounded and drop refilled buckets")
+    void acquire_ManyKeys_ShouldStayBounded() {
+        for (int i = 0; i < 5_000; i++) {
+            clock.addAndGet(1);
+            throttle.acquire("user" + i, "10.1." + (i / 256) + "." + (i % 256));
+        }
+        assertTrue(throttle.trackedKeys() <= 2 * 1_000);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        throttle.evictIdle();
+
+        assertEquals(0, throttle.trackedKeys());
+    }
+
+    @Test
+    @DisplayName("Should never hand out more than the burst under concurrent attempts")
+    void acquire_ConcurrentAttempts_ShouldGrantExactlyTheBurst() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String address = "10.0.0." + t;
+            results.add(pool.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        throttle.acquire("victim", address);
+                        granted++;
+                    } catch (LoginThrottledException e) {
+                        // expected once the bucket is empty
+                    }
+                }
+                return granted;
+            }));
+        }
+
+        start.countDown();
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(5, granted);
+    }
+}
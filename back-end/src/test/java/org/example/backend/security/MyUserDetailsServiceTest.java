@@ -0,0 +1,160 @@
+package org.example.backend.security;
+
+import java.util.List;
+import java.util.Set;
+
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.service.AccountService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MyUserDetailsService Tests")
+class MyUserDetailsServiceTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private BoundedUserCache userCache = new BoundedUserCache(60_000, new SimpleMeterRegistry());
+
+    @InjectMocks
+    private MyUserDetailsService myUserDetailsService;
+
+    private final UserDetails user = User.withUsername("testuser").password("old-hash").roles("ADMIN").build();
+
+    @Test
+    @DisplayName("Should query once and serve repeat lookups from the cache")
+    void loadUserByUsername_RepeatLookups_ShouldQueryOnce() {
+        // Given
+        when(userRepository.findCredentialsByUsername("testuser"))
+                .thenReturn(List.of(row("testuser", "hash", "ADMIN"), row("testuser", "hash", "ORDINARY")));
+
+        // When
+        UserDetails first = myUserDetailsService.loadUserByUsername("testuser");
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = myUserDetailsService.loadUserByUsername("TestUser");
+
+        // Then
+        verify(userRepository, times(1)).findCredentialsByUsername(anyString());
+        verifyNoInteractions(accountService);
+        assertNotSame(first, second);
+        assertEquals("hash", second.getPassword());
+        assertEquals(Set.of("ADMIN", "ORDINARY"), AuthorityUtils.authorityListToSet(second.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("Should load a user without roles from the single outer-join row")
+    void loadUserByUsername_NoRoles_ShouldHaveNoAuthorities() {
+        when(userRepository.findCredentialsByUsername("testuser")).thenReturn(List.of(row("testuser", "hash", null)));
+
+        UserDetails loaded = myUserDetailsService.loadUserByUsername("testuser");
+
+        assertTrue(loaded.getAuthorities().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void loadUserByUsername_UnknownUser_ShouldThrowEveryTime() {
+        when(userRepository.findCredentialsByUsername("ghost")).thenReturn(List.of());
+
+        assertThrows(UsernameNotFoundException.class, () -> myUserDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> myUserDetailsService.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findCredentialsByUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("Should query again after a write evicted the user")
+    void loadUserByUsername_AfterEviction_ShouldQueryAgain() {
+        when(userRepository.findCredentialsByUsername("testuser"))
+                .thenReturn(List.of(row("testuser", "old-hash", "ADMIN")))
+                .thenReturn(List.of(row("testuser", "new-hash", "ADMIN")));
+        myUserDetailsService.loadUserByUsername("testuser");
+
+        userCache.evictAfterCommit("testuser");
+
+        assertEquals("new-hash", myUserDetailsService.loadUserByUsername("testuser").getPassword());
+        verify(userRepository, times(2)).findCredentialsByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup that raced with an eviction")
+    void loadUserByUsername_EvictedDuringQuery_ShouldNotCache() {
+        when(userRepository.findCredentialsByUsername("testuser")).thenAnswer(invocation -> {
+            userCache.evictAfterCommit("testuser");
+            return List.of(row("testuser", "stale-hash", "ADMIN"));
+        });
+
+        myUserDetailsService.loadUserByUsername("testuser");
+
+        assertNull(userCache.getUserFromCache("testuser"));
+    }
+
+    @Test
+    @DisplayName("Should store the upgraded hash and return it on the user")
+    void updatePassword_ShouldPersistNewHash() {
+        UserDetails upgraded = myUserDetailsService.updatePassword(user, "{bcrypt}new-hash");
+
+        verify(accountService).updatePassword("testuser", "{bcrypt}new-hash");
+        assertEquals("{bcrypt}new-hash", upgraded.getPassword());
+        assertEquals(user.getAuthorities(), upgraded.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should keep the login going when the upgrade cannot be stored")
+    void updatePassword_StoreFails_ShouldReturnOriginalUser() {
+        doThrow(new RuntimeException("database unavailable"))
+                .when(accountService).updatePassword("testuser", "{bcrypt}new-hash");
+
+        UserDetails result = myUserDetailsService.updatePassword(user, "{bcrypt}new-hash");
+
+        assertEquals("old-hash", result.getPassword());
+    }
+
+    private static UserRepository.CredentialRow row(String username, String password, String role) {
+        return new UserRepository.CredentialRow() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getPassword() {
+                return password;
+            }
+
+            @Override
+            public String getRole() {
+                return role;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.backend.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("PasswordEncoderCalibrator Tests")
+class PasswordEncoderCalibratorTest {
+
+    @Test
+    @DisplayName("Should double the cost only while the target is not exceeded")
+    void doublings_ShouldStayWithinTargetAndBounds() {
+        assertEquals(0, PasswordEncoderCalibrator.doublings(80, 50, 6));
+        assertEquals(0, PasswordEncoderCalibrator.doublings(30, 50, 6));
+        assertEquals(2, PasswordEncoderCalibrator.doublings(12, 50, 6));
+        assertEquals(3, PasswordEncoderCalibrator.doublings(0.1, 50, 3));
+    }
+
+    @Test
+    @DisplayName("Should still accept legacy BCrypt hashes and flag them for upgrade")
+    void createEncoder_LegacyBcryptHash_ShouldMatchAndNeedUpgrade() {
+        PasswordEncoder encoder = new PasswordEncoderCalibrator("bcrypt", 1).createEncoder();
+        String legacyHash = new BCryptPasswordEncoder().encode("secret");
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+
+        String upgraded = encoder.encode("secret");
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("secret", upgraded));
+        assertFalse(encoder.upgradeEncoding(upgraded));
+    }
+
+    @Test
+    @DisplayName("Should flag hashes below the calibrated BCrypt strength")
+    void createEncoder_WeakerBcryptHash_ShouldNeedUpgrade() {
+        PasswordEncoder encoder = new PasswordEncoderCalibrator("bcrypt", 1).createEncoder();
+        String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", weakHash));
+        assertTrue(encoder.upgradeEncoding(weakHash));
+    }
+
+    @Test
+    @DisplayName("Should encode with PBKDF2 and upgrade BCrypt hashes when PBKDF2 is selected")
+    void createEncoder_Pbkdf2_ShouldUpgradeOtherAlgorithms() {
+        PasswordEncoder encoder = new PasswordEncoderCalibrator("pbkdf2", 1).createEncoder();
+
+        String hash = encoder.encode("secret");
+        assertTrue(hash.startsWith("{" + PasswordEncoderCalibrator.pbkdf2Id(PasswordEncoderCalibrator.PBKDF2_BASE_ITERATIONS) + "}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder().encode("secret")));
+    }
+
+    @Test
+    @DisplayName("Should refuse an unknown algorithm")
+    void createEncoder_UnknownAlgorithm_ShouldThrow() {
+        PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator("md5", 50);
+
+        assertThrows(IllegalArgumentException.class, calibrator::createEncoder);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.backend.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("PasswordHashingExecutor Tests")
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the task off the calling thread and record its latency")
+    void submit_ShouldRunOnHashingThread() throws Exception {
+        String callingThread = Thread.currentThread().getName();
+
+        String hashingThread = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertNotEquals(callingThread, hashingThread);
+        assertEquals(1, meterRegistry.get("security.password.hashing").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject immediately once the thread and queue are full")
+    void submit_QueueFull_ShouldReject() throws Exception {
+        // Given: one task running, one waiting
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+        assertEquals(1.0, meterRegistry.get("security.password.hashing.queue").gauge().value());
+
+        // When & Then
+        PasswordHashingRejectedException rejected =
+                assertThrows(PasswordHashingRejectedException.class, () -> executor.submit(() -> true));
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("security.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
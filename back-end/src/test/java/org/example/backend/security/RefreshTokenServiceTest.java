@@ -0,0 +1,125 @@
+package org.example.backend.security;
+
+import java.util.Optional;
+
+import org.example.backend.dao.entity.RefreshToken;
+import org.example.backend.dao.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, SecurityParameters.REFRESH_EXPIRATION_TIME);
+    }
+
+    @Test
+    @DisplayName("Should store only the digest of an issued token")
+    void issue_ShouldPersistHashedToken() {
+        String token = refreshTokenService.issue("testuser");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(token), saved.getValue().getTokenHash());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals("testuser", saved.getValue().getUsername());
+    }
+
+    @Test
+    @DisplayName("Should expire issued tokens after the configured jwt.refresh-expiration")
+    void issue_ShouldUseConfiguredLifetime() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 60_000);
+        long before = System.currentTimeMillis();
+
+        refreshTokenService.issue("testuser");
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        long lifetime = saved.getValue().getExpiresAt() - before;
+        assertTrue(lifetime >= 60_000 && lifetime < 70_000);
+    }
+
+    @Test
+    @DisplayName("Should rotate a fresh token into a new one of the same family")
+    void rotate_FreshToken_ShouldIssueSuccessor() {
+        RefreshToken stored = stored(false, System.currentTimeMillis() + 60_000);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("presented"))).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(1L)).thenReturn(1);
+
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("presented");
+
+        assertTrue(rotation.isPresent());
+        assertEquals("testuser", rotation.get().username());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamily());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a rotated token is replayed")
+    void rotate_ReusedToken_ShouldRevokeFamily() {
+        RefreshToken stored = stored(true, System.currentTimeMillis() + 60_000);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(1L)).thenReturn(0);
+
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate("presented");
+
+        assertTrue(rotation.isEmpty());
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void rotate_ExpiredToken_ShouldReturnEmpty() {
+        RefreshToken stored = stored(false, System.currentTimeMillis() - 1);
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(1L)).thenReturn(1);
+
+        assertTrue(refreshTokenService.rotate("presented").isEmpty());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown token")
+    void rotate_UnknownToken_ShouldReturnEmpty() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertTrue(refreshTokenService.rotate("presented").isEmpty());
+        verify(refreshTokenRepository, never()).markUsed(any());
+    }
+
+    private static RefreshToken stored(boolean used, long expiresAt) {
+        return RefreshToken.builder()
+                .id(1L)
+                .tokenHash(RefreshTokenService.hash("presented"))
+                .username("testuser")
+                .family("family-1")
+                .expiresAt(expiresAt)
+                .used(used)
+                .build();
+    }
+}
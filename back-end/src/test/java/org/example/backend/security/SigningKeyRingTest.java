@@ -0,0 +1,124 @@
+package org.example.backend.security;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.example.backend.dao.entity.SigningKey;
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SigningKeyRing Tests")
+class SigningKeyRingTest {
+
+    @Mock
+    private SigningKeyRepository signingKeyRepository;
+
+    private SigningKeyRing signingKeyRing;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        signingKeyRing = new SigningKeyRing(signingKeyRepository, 60_000, SecurityParameters.EXPIRATION_TIME);
+        signingKeyRing.rotate();
+        tokenService = new TokenService(signingKeyRing, SecurityParameters.EXPIRATION_TIME);
+    }
+
+    @Test
+    @DisplayName("Should sign with ES256 under the active kid and publish only the public key")
+    void issue_ShouldCarryKidAndVerify() {
+        String token = tokenService.issue("testuser", List.of(new SimpleGrantedAuthority("ADMIN"))).token();
+
+        DecodedJWT decoded = tokenService.verify(token);
+        assertEquals("ES256", decoded.getAlgorithm());
+        assertEquals(signingKeyRing.active().kid(), decoded.getKeyId());
+
+        ArgumentCaptor<SigningKey> saved = ArgumentCaptor.forClass(SigningKey.class);
+        verify(signingKeyRepository).save(saved.capture());
+        assertEquals(signingKeyRing.active().kid(), saved.getValue().getKid());
+        assertEquals(91, saved.getValue().getPublicKey().length);
+    }
+
+    @Test
+    @DisplayName("Should keep verifying tokens signed before a rotation")
+    void rotate_OldTokens_ShouldStillVerify() {
+        String token = tokenService.issue("testuser", List.of()).token();
+        String oldKid = signingKeyRing.active().kid();
+
+        signingKeyRing.rotate();
+
+        assertNotEquals(oldKid, signingKeyRing.active().kid());
+        assertEquals("testuser", tokenService.verify(token).getSubject());
+        assertSame(signingKeyRing.verifierFor(oldKid), signingKeyRing.verifierFor(oldKid));
+    }
+
+    @Test
+    @DisplayName("Should verify a token from another node by loading its public key")
+    void verify_KidFromAnotherNode_ShouldLoadFromRepository() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair otherNode = generator.generateKeyPair();
+        long now = System.currentTimeMillis();
+        when(signingKeyRepository.findByExpiresAtGreaterThan(anyLong())).thenReturn(List.of(
+                new SigningKey("other-kid", "ES256", otherNode.getPublic().getEncoded(), now, now + 60_000)));
+        String token = JWT.create()
+                .withKeyId("other-kid")
+                .withSubject("testuser")
+                .withExpiresAt(new Date(now + 60_000))
+                .sign(Algorithm.ECDSA256((ECPublicKey) otherNode.getPublic(), (ECPrivateKey) otherNode.getPrivate()));
+
+        assertEquals("testuser", tokenService.verify(token).getSubject());
+        assertEquals(2, signingKeyRing.knownKeyCount());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens without a kid or with an unknown one")
+    void verify_MissingOrUnknownKid_ShouldThrow() {
+        String withoutKid = JWT.create().withSubject("testuser").sign(Algorithm.HMAC256("secret"));
+        String unknownKid = JWT.create().withKeyId("nope").withSubject("testuser").sign(Algorithm.HMAC256("secret"));
+
+        assertThrows(JWTVerificationException.class, () -> tokenService.verify(withoutKid));
+        assertThrows(JWTVerificationException.class, () -> tokenService.verify(unknownKid));
+    }
+
+    @Test
+    @DisplayName("Should publish EC keys as JWKS entries")
+    void publishedKeys_ShouldDescribeP256Keys() {
+        List<Map<String, Object>> keys = signingKeyRing.publishedKeys();
+
+        assertEquals(1, keys.size());
+        Map<String, Object> jwk = keys.get(0);
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals("ES256", jwk.get("alg"));
+        assertEquals(signingKeyRing.active().kid(), jwk.get("kid"));
+        assertEquals(43, ((String) jwk.get("x")).length());
+        assertEquals(43, ((String) jwk.get("y")).length());
+    }
+}
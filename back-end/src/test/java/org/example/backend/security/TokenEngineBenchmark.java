@@ -0,0 +1,95 @@
+package org.example.backend.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the per-request verifier construction the filter used to do with the shared
+ * {@link TokenEngine}. Run {@link #main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenEngineBenchmark {
+
+    // The shared HMAC secret tokens were signed with before the ES256 key ring
+    private static final String LEGACY_SECRET = "YahyaHahn";
+
+    private String legacyToken;
+    private String token;
+    private TokenEngine tokenEngine;
+
+    @Setup
+    public void setUp() {
+        legacyToken = JWT.create()
+                .withSubject("benchmark")
+                .withClaim("roles", List.of("ADMIN", "ORDINARY"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME))
+                .sign(Algorithm.HMAC256(LEGACY_SECRET));
+        SigningKeyRing signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), 60_000, SecurityParameters.EXPIRATION_TIME);
+        signingKeyRing.rotate();
+        TokenService tokenService = new TokenService(signingKeyRing, SecurityParameters.EXPIRATION_TIME);
+        token = tokenService.issue("benchmark",
+                List.of(new SimpleGrantedAuthority("ADMIN"), new SimpleGrantedAuthority("ORDINARY"))).token();
+        tokenEngine = new TokenEngine(tokenService, new AuthorityRegistry(), new SimpleMeterRegistry());
+        tokenEngine.authenticate(token);
+    }
+
+    @Benchmark
+    public Authentication legacyVerifierPerRequest() {
+        JWTVerifier verifier = JWT.require(Algorithm.HMAC256(LEGACY_SECRET)).build();
+        DecodedJWT decodedJWT = verifier.verify(legacyToken);
+        List<String> roles = decodedJWT.getClaims().get("roles").asList(String.class);
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : roles) {
+            String roleWithPrefix = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+            authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
+        }
+        return new UsernamePasswordAuthenticationToken(decodedJWT.getSubject(), null, authorities);
+    }
+
+    @Benchmark
+    public Authentication tokenEngineCachedToken() {
+        return tokenEngine.authenticate(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
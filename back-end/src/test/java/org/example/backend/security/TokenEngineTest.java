@@ -0,0 +1,121 @@
+package org.example.backend.security;
+
+import java.util.Date;
+import java.util.List;
+
+import org.example.backend.dao.repository.SigningKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("TokenEngine Tests")
+class TokenEngineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SigningKeyRing signingKeyRing;
+    private TokenEngine tokenEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        signingKeyRing = new SigningKeyRing(mock(SigningKeyRepository.class), 60_000, SecurityParameters.EXPIRATION_TIME);
+        signingKeyRing.rotate();
+        tokenEngine = new TokenEngine(new TokenService(signingKeyRing, SecurityParameters.EXPIRATION_TIME), new AuthorityRegistry(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should build authentication with prefixed roles from a valid token")
+    void authenticate_ValidToken_ShouldReturnAuthentication() {
+        String token = token("testuser", System.currentTimeMillis() + 60_000, "ADMIN", "ROLE_ORDINARY");
+
+        Authentication authentication = tokenEngine.authenticate(token);
+
+        assertEquals("testuser", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_ORDINARY"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the cache")
+    void authenticate_RepeatedToken_ShouldHitCache() {
+        String token = token("testuser", System.currentTimeMillis() + 60_000, "ADMIN");
+
+        Authentication first = tokenEngine.authenticate(token);
+        Authentication second = tokenEngine.authenticate(token);
+
+        assertSame(first, second);
+        assertEquals(1.0, meterRegistry.get("security.token.cache").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("security.token.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key under our kid")
+    void authenticate_ForeignSignature_ShouldThrow() {
+        String token = JWT.create()
+                .withKeyId(signingKeyRing.active().kid())
+                .withSubject("testuser")
+                .withClaim("roles", List.of("ADMIN"))
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        assertThrows(JWTVerificationException.class, () -> tokenEngine.authenticate(token));
+        assertEquals(0, tokenEngine.cachedTokens());
+    }
+
+    @Test
+    @DisplayName("Should find a token inside a header by offsets and share authorities per role set")
+    void authenticate_TokenInsideHeader_ShouldMatchCachedToken() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        String token = token("testuser", expiresAt, "ADMIN");
+        String header = "Bearer  " + token + " ";
+
+        Authentication fromToken = tokenEngine.authenticate(token);
+        Authentication fromHeader = tokenEngine.authenticate(header, 8, 8 + token.length());
+        Authentication otherUser = tokenEngine.authenticate(token("otheruser", expiresAt, "ADMIN"));
+
+        assertSame(fromToken, fromHeader);
+        assertSame(fromToken.getAuthorities().iterator().next(), otherUser.getAuthorities().iterator().next());
+        assertEquals(1.0, meterRegistry.get("security.token.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void authenticate_ExpiredToken_ShouldThrow() {
+        String token = token("testuser", System.currentTimeMillis() - 1_000, "ADMIN");
+
+        assertThrows(JWTVerificationException.class, () -> tokenEngine.authenticate(token));
+    }
+
+    @Test
+    @DisplayName("Should keep the cache bounded")
+    void authenticate_ManyTokens_ShouldStayBounded() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < TokenEngine.MAX_CACHED_TOKENS + 500; i++) {
+            tokenEngine.authenticate(token("user" + i, expiresAt, "ORDINARY"));
+        }
+
+        assertEquals(true, tokenEngine.cachedTokens() <= TokenEngine.MAX_CACHED_TOKENS);
+    }
+
+    private String token(String username, long expiresAt, String... roles) {
+        return JWT.create()
+                .withKeyId(signingKeyRing.active().kid())
+                .withSubject(username)
+                .withClaim("roles", List.of(roles))
+                .withExpiresAt(new Date(expiresAt))
+                .sign(signingKeyRing.active().algorithm());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.backend.security;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.repository.RevokedTokenRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost the revocation check adds to {@link JWTAuthorizationFilter} for a token that has not
+ * been revoked, with 50k live revocations in the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private TokenRevocationStore store;
+    private String liveJti;
+    private String revokedJti;
+
+    @Setup
+    public void setUp() {
+        store = new TokenRevocationStore(Mockito.mock(RevokedTokenRepository.class));
+        long expiresAt = System.currentTimeMillis() + SecurityParameters.EXPIRATION_TIME;
+        for (int i = 0; i < 50_000; i++) {
+            store.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        revokedJti = UUID.randomUUID().toString();
+        store.revoke(revokedJti, expiresAt);
+        liveJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return store.isRevoked(liveJti);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return store.isRevoked(revokedJti);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
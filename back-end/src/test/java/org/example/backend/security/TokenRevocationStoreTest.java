@@ -0,0 +1,106 @@
+package org.example.backend.security;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.example.backend.dao.entity.RevokedToken;
+import org.example.backend.dao.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationStore Tests")
+class TokenRevocationStoreTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TokenRevocationStore(revokedTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should report a revoked token and persist it")
+    void revoke_LiveToken_ShouldBeRevoked() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        store.revoke("jti-1", expiresAt);
+
+        assertTrue(store.isRevoked("jti-1"));
+        assertFalse(store.isRevoked("jti-2"));
+        assertFalse(store.isRevoked(null));
+        verify(revokedTokenRepository).save(new RevokedToken("jti-1", expiresAt));
+    }
+
+    @Test
+    @DisplayName("Should ignore tokens that have already expired")
+    void revoke_ExpiredToken_ShouldBeIgnored() {
+        store.revoke("jti-1", System.currentTimeMillis() - 1);
+
+        assertFalse(store.isRevoked("jti-1"));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild revocations from the persisted table")
+    void rebuild_PersistedRows_ShouldBeRevoked() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        when(revokedTokenRepository.findByExpiresAtGreaterThan(anyLong()))
+                .thenReturn(List.of(new RevokedToken("jti-1", expiresAt), new RevokedToken("jti-2", expiresAt)));
+
+        store.rebuild();
+
+        assertTrue(store.isRevoked("jti-1"));
+        assertTrue(store.isRevoked("jti-2"));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries and their rows on purge")
+    void purgeExpired_ShouldForgetExpiredEntries() throws InterruptedException {
+        store.revoke("short-lived", System.currentTimeMillis() + 5);
+        store.revoke("long-lived", System.currentTimeMillis() + 60_000);
+        Thread.sleep(20);
+
+        store.purgeExpired();
+
+        assertEquals(1, store.size());
+        assertFalse(store.isRevoked("short-lived"));
+        assertTrue(store.isRevoked("long-lived"));
+        verify(revokedTokenRepository).deleteExpired(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep the Bloom filter false-positive rate near its target")
+    void bloomFilter_ShouldRarelyMatchUnknownIds() {
+        JtiBloomFilter filter = new JtiBloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
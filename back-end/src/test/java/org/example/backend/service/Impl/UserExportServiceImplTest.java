@@ -0,0 +1,108 @@
+package org.example.backend.service.Impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.example.backend.IntegrationTestData;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("UserExportServiceImpl Tests")
+class UserExportServiceImplTest {
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationTestData.seed(userRepository, roleRepository, passwordEncoder, roleRegistry);
+    }
+
+    @Test
+    @DisplayName("Should write one NDJSON line per user, in username order, with every role")
+    void exportUsers_Ndjson_ShouldWriteOneLinePerUser() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = userExportService.exportUsers(out, UserImportFormat.NDJSON);
+
+        // Then
+        List<UserDto> users = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            users.add(objectMapper.readValue(line, UserDto.class));
+        }
+        assertEquals(userRepository.count(), exported);
+        assertEquals(exported, users.size());
+        List<String> usernames = users.stream().map(UserDto::getUsername).toList();
+        assertEquals(usernames.stream().sorted().toList(), usernames);
+        UserDto first = users.stream().filter(user -> user.getUsername().equals("user00")).findFirst().orElseThrow();
+        assertEquals("user00@example.com", first.getEmail());
+        assertEquals(List.of("ADMIN", "ORDINARY"), first.getRoles().stream().map(RoleDto::getRole).toList());
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields holding commas or quotes")
+    void exportUsers_Csv_ShouldQuoteFields() throws Exception {
+        // Given
+        if (!userRepository.existsByUsername("export1")) {
+            userRepository.save(User.builder()
+                    .username("export1")
+                    .password(passwordEncoder.encode(IntegrationTestData.PASSWORD))
+                    .email("export1@example.com")
+                    .firstName("Say \"hi\"")
+                    .lastName("O'Neil, Jr.")
+                    .roles(new HashSet<>())
+                    .build());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        userExportService.exportUsers(out, UserImportFormat.CSV);
+
+        // Then
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(UserExportWriter.CSV_HEADER, lines.get(0));
+        assertTrue(lines.contains("export1,export1@example.com,\"Say \"\"hi\"\"\",\"O'Neil, Jr.\","));
+        assertTrue(lines.contains("user05,user05@example.com,First5,Last5,ADMIN;ORDINARY"));
+    }
+}
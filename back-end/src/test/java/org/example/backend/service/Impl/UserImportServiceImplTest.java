@@ -0,0 +1,124 @@
+package org.example.backend.service.Impl;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.example.backend.IntegrationTestData;
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.UserImportErrorDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.dto.UserImportResultDto;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserImportHeaderException;
+import org.example.backend.service.UserImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("UserImportServiceImpl Tests")
+class UserImportServiceImplTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationTestData.seed(userRepository, roleRepository, passwordEncoder, roleRegistry);
+    }
+
+    @Test
+    @DisplayName("Should import valid NDJSON rows and report the rest by line")
+    void importUsers_Ndjson_ShouldImportValidRowsAndReportFailures() throws Exception {
+        // Given
+        String body = """
+                {"username":"ndjson1","password":"secret1","email":"ndjson1@example.com","firstName":"Nd","lastName":"One"}
+                {"username":"user00","password":"secret1","email":"user00@example.com","firstName":"Dup","lastName":"Db"}
+
+                {"username":"ndjson2","password":"secret2","email":"not-an-email","firstName":"Nd","lastName":"Two"}
+                {"username":"ndjson1","password":"secret1","email":"again@example.com","firstName":"Dup","lastName":"File"}
+                {"username":
+                {"username":"ndjson3","password":"secret3","email":"ndjson3@example.com","firstName":"Nd","lastName":"Three"}
+                """;
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(new StringReader(body), UserImportFormat.NDJSON);
+
+        // Then
+        assertEquals(2, result.getImported());
+        assertEquals(4, result.getFailed());
+        List<UserImportErrorDto> errors = result.getErrors();
+        assertEquals(List.of(2L, 4L, 5L, 6L), errors.stream().map(UserImportErrorDto::getLine).toList());
+        assertEquals("User already exists with username: user00", errors.get(0).getMessage());
+        assertEquals("Please provide a valid email address", errors.get(1).getMessage());
+        assertEquals("Duplicate username in import: ndjson1", errors.get(2).getMessage());
+        assertNull(errors.get(3).getUsername());
+        assertTrue(errors.get(3).getMessage().startsWith("Malformed JSON"));
+
+        assertTrue(passwordEncoder.matches("secret3", userRepository.findByUsername("ndjson3").orElseThrow().getPassword()));
+        assertEquals(List.of("ORDINARY"),
+                userRepository.findRolesByUsername("ndjson1").stream().map(Role::getRole).toList());
+    }
+
+    @Test
+    @DisplayName("Should map CSV columns by header name and honour quoted fields")
+    void importUsers_Csv_ShouldMapColumnsByHeader() throws Exception {
+        // Given
+        String body = """
+                email,lastName,firstName,username,password
+                csv1@example.com,"O'Neil, Jr.","Say \"\"hi\"\"",csv1,secret1
+                csv2@example.com,Two,Csv,csv2
+                """;
+
+        // When
+        UserImportResultDto result = userImportService.importUsers(new StringReader(body), UserImportFormat.CSV);
+
+        // Then
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertEquals("Expected a password column, found only 4 fields", result.getErrors().get(0).getMessage());
+        var user = userRepository.findByUsername("csv1").orElseThrow();
+        assertEquals("O'Neil, Jr.", user.getLastName());
+        assertEquals("Say \"hi\"", user.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV body whose header lacks a column")
+    void importUsers_CsvMissingColumn_ShouldThrow() {
+        // Given
+        String body = "username,password,email,firstName\ncsv3,secret3,csv3@example.com,Csv\n";
+
+        // When & Then
+        UserImportHeaderException exception = assertThrows(UserImportHeaderException.class,
+                () -> userImportService.importUsers(new StringReader(body), UserImportFormat.CSV));
+        assertEquals("CSV header is missing the lastName column", exception.getMessage());
+        assertEquals(List.of("username", "password", "email", "firstName"), exception.getReceived());
+        assertTrue(userRepository.findByUsername("csv3").isEmpty());
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.backend.service.Impl;
+
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserPageDto;
+import org.example.backend.dto.UserSort;
+import org.example.backend.mapper.RoleMapper;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserManagementServiceImplPagingTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private UserMapper userMapper = new UserMapper();
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserDirectory userDirectory;
+
+    @InjectMocks
+    private UserManagementServiceImpl userManagementService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userMapper, "roleMapper", new RoleMapper());
+    }
+
+    @Test
+    void getUsers_FullPage_ShouldFetchOneExtraRowAndReturnCursor() {
+        // Given
+        when(userRepository.findFirstPageByUsername(Limit.of(3)))
+                .thenReturn(List.of(user("alice"), user("bob"), user("carol")));
+        when(userRepository.findRoleRowsByUsernameIn(List.of("alice", "bob")))
+                .thenReturn(List.of(new UserRoleRow("alice", "ADMIN"), new UserRoleRow("bob", "ORDINARY"),
+                        new UserRoleRow("alice", "ORDINARY")));
+
+        // When
+        UserPageDto page = userManagementService.getUsers(UserSort.USERNAME, null, 2);
+
+        // Then
+        assertEquals(List.of("alice", "bob"), page.getItems().stream().map(UserDto::getUsername).toList());
+        assertEquals(2, page.getItems().get(0).getRoles().size());
+        assertEquals("ORDINARY", page.getItems().get(1).getRoles().get(0).getRole());
+        assertNotNull(page.getNextCursor());
+        assertEquals("bob", UserCursor.decode(page.getNextCursor(), UserSort.USERNAME).username());
+    }
+
+    @Test
+    void getUsers_LastPage_ShouldHaveNoCursor() {
+        // Given
+        when(userRepository.findFirstPageByUsername(Limit.of(3))).thenReturn(List.of(user("alice")));
+
+        // When
+        UserPageDto page = userManagementService.getUsers(UserSort.USERNAME, null, 2);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.getItems().get(0).getRoles().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUsers_WithNameCursor_ShouldSeekPastTheFullSortKey() {
+        // Given
+        String cursor = UserCursor.after(UserSort.NAME, user("bob")).encode();
+        when(userRepository.findPageByNameAfter(eq("Last-bob"), eq("First-bob"), eq("bob"), eq(Limit.of(11))))
+                .thenReturn(List.of(user("carol")));
+
+        // When
+        UserPageDto page = userManagementService.getUsers(UserSort.NAME, cursor, 10);
+
+        // Then
+        assertEquals("carol", page.getItems().get(0).getUsername());
+        verify(userRepository, never()).findFirstPageByName(any());
+    }
+
+    @Test
+    void getUsers_AfterUserWithoutEmail_ShouldSeekPastTheUsernameAmongNullEmails() {
+        // Given
+        String cursor = UserCursor.after(UserSort.EMAIL, new UserRow("bob", null, "Bob", "Moss")).encode();
+        when(userRepository.findPageByNullEmailAfter(eq("bob"), eq(Limit.of(11))))
+                .thenReturn(List.of(new UserRow("dave", null, "Dave", "Roe"), user("alice")));
+
+        // When
+        UserPageDto page = userManagementService.getUsers(UserSort.EMAIL, cursor, 10);
+
+        // Then
+        assertEquals(List.of("dave", "alice"), page.getItems().stream().map(UserDto::getUsername).toList());
+        assertNull(UserCursor.decode(cursor, UserSort.EMAIL).email());
+        verify(userRepository, never()).findPageByEmailAfter(any(), any());
+    }
+
+    @Test
+    void getUsers_CursorFromAnotherSort_ShouldBeRejected() {
+        // Given
+        String cursor = UserCursor.after(UserSort.EMAIL, user("bob")).encode();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> userManagementService.getUsers(UserSort.USERNAME, cursor, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> userManagementService.getUsers(UserSort.USERNAME, "not a cursor!", 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void searchUsers_ShouldTakeMatchesFromTheIndexAndRolesFromOneQuery() {
+        // Given
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("car", 5)).thenReturn(List.of(user("carol"), user("oscar")));
+        when(userRepository.findRoleRowsByUsernameIn(List.of("carol", "oscar")))
+                .thenReturn(List.of(new UserRoleRow("oscar", "ADMIN")));
+
+        // When
+        List<UserDto> users = userManagementService.searchUsers("car", 5);
+
+        // Then
+        assertEquals(List.of("carol", "oscar"), users.stream().map(UserDto::getUsername).toList());
+        assertTrue(users.get(0).getRoles().isEmpty());
+        assertEquals("ADMIN", users.get(1).getRoles().get(0).getRole());
+        verify(userRepository, times(1)).findRoleRowsByUsernameIn(any());
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void searchUsers_AllMatchesInTheDirectory_ShouldNotQueryRoles() {
+        // Given
+        List<UserDto> fromDirectory = List.of(UserDto.builder().username("carol").build());
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("car", 5)).thenReturn(List.of(user("carol")));
+        when(userDirectory.findAll(List.of("carol"))).thenReturn(Optional.of(fromDirectory));
+
+        // When
+        List<UserDto> users = userManagementService.searchUsers("car", 5);
+
+        // Then
+        assertEquals(fromDirectory, users);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void searchUsers_BeforeTheIndexIsLoaded_ShouldBeRejected() {
+        // Given
+        when(userSearchIndex.isReady()).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> userManagementService.searchUsers("car", 5));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static UserRow user(String username) {
+        return new UserRow(username, username + "@example.com", "First-" + username, "Last-" + username);
+    }
+}
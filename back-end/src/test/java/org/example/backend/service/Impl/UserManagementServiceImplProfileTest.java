@@ -6,12 +6,15 @@ import org.example.backend.dto.ChangePasswordDto;
 import org.example.backend.dto.ProfileUpdateDto;
 import org.example.backend.dto.UserDto;
 import org.example.backend.mapper.UserMapper;
+import org.example.backend.security.BoundedUserCache;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -28,7 +31,16 @@ class UserManagementServiceImplProfileTest {
     private UserMapper userMapper;
 
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private BoundedUserCache userCache;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserDirectory userDirectory;
 
     @InjectMocks
     private UserManagementServiceImpl userManagementService;
@@ -71,7 +83,7 @@ class UserManagementServiceImplProfileTest {
                 .lastName("NewLast")
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(existingUser));
         when(userRepository.save(any(User.class))).thenReturn(updatedUser);
         when(userMapper.toDto(updatedUser)).thenReturn(expectedUserDto);
 
@@ -85,7 +97,7 @@ class UserManagementServiceImplProfileTest {
         assertEquals(expectedUserDto.getFirstName(), result.getFirstName());
         assertEquals(expectedUserDto.getLastName(), result.getLastName());
 
-        verify(userRepository).findById(username);
+        verify(userRepository).findWithRolesByUsername(username);
         verify(userRepository).save(any(User.class));
         verify(userMapper).toDto(updatedUser);
     }
@@ -98,7 +110,7 @@ class UserManagementServiceImplProfileTest {
                 .email("newemail@example.com")
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -106,7 +118,7 @@ class UserManagementServiceImplProfileTest {
         });
 
         assertEquals("User not found with username: " + username, exception.getMessage());
-        verify(userRepository).findById(username);
+        verify(userRepository).findWithRolesByUsername(username);
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -127,7 +139,7 @@ class UserManagementServiceImplProfileTest {
                 .password("hashedPassword")
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findWithRolesByUsername(username)).thenReturn(Optional.of(existingUser));
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
         when(userMapper.toDto(any(User.class))).thenReturn(new UserDto());
 
@@ -135,7 +147,7 @@ class UserManagementServiceImplProfileTest {
         userManagementService.updateProfile(username, profileUpdateDto);
 
         // Then
-        verify(userRepository).findById(username);
+        verify(userRepository).findWithRolesByUsername(username);
         verify(userRepository).save(argThat(user -> 
             user.getEmail().equals("newemail@example.com") &&
             user.getFirstName().equals("ExistingFirst") &&
@@ -162,19 +174,20 @@ class UserManagementServiceImplProfileTest {
                 .password(hashedOldPassword)
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(existingUser));
-        when(bCryptPasswordEncoder.matches(currentPassword, hashedOldPassword)).thenReturn(true);
-        when(bCryptPasswordEncoder.encode(newPassword)).thenReturn(hashedNewPassword);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(existingUser));
+        when(passwordEncoder.matches(currentPassword, hashedOldPassword)).thenReturn(true);
+        when(passwordEncoder.encode(newPassword)).thenReturn(hashedNewPassword);
         when(userRepository.save(any(User.class))).thenReturn(existingUser);
 
         // When
         userManagementService.changePassword(username, changePasswordDto);
 
         // Then
-        verify(userRepository).findById(username);
-        verify(bCryptPasswordEncoder).matches(currentPassword, hashedOldPassword);
-        verify(bCryptPasswordEncoder).encode(newPassword);
+        verify(userRepository).findByUsername(username);
+        verify(passwordEncoder).matches(currentPassword, hashedOldPassword);
+        verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(argThat(user -> user.getPassword().equals(hashedNewPassword)));
+        verify(userCache).evictAfterCommit(username);
     }
 
     @Test
@@ -186,7 +199,7 @@ class UserManagementServiceImplProfileTest {
                 .newPassword("newPassword")
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -194,8 +207,8 @@ class UserManagementServiceImplProfileTest {
         });
 
         assertEquals("User not found with username: " + username, exception.getMessage());
-        verify(userRepository).findById(username);
-        verify(bCryptPasswordEncoder, never()).matches(anyString(), anyString());
+        verify(userRepository).findByUsername(username);
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
         verify(userRepository, never()).save(any(User.class));
     }
 
@@ -217,8 +230,8 @@ class UserManagementServiceImplProfileTest {
                 .password(hashedPassword)
                 .build();
 
-        when(userRepository.findById(username)).thenReturn(Optional.of(existingUser));
-        when(bCryptPasswordEncoder.matches(currentPassword, hashedPassword)).thenReturn(false);
+        when(userRepository.findByUsername(username)).thenReturn(Optional.of(existingUser));
+        when(passwordEncoder.matches(currentPassword, hashedPassword)).thenReturn(false);
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -226,9 +239,10 @@ class UserManagementServiceImplProfileTest {
         });
 
         assertEquals("Current password is incorrect", exception.getMessage());
-        verify(userRepository).findById(username);
-        verify(bCryptPasswordEncoder).matches(currentPassword, hashedPassword);
-        verify(bCryptPasswordEncoder, never()).encode(anyString());
+        verify(userRepository).findByUsername(username);
+        verify(passwordEncoder).matches(currentPassword, hashedPassword);
+        verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
+        verify(userCache, never()).evictAfterCommit(anyString());
     }
 }
@@ -0,0 +1,149 @@
+package org.example.backend.service.Impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.BackEndApplication;
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserSort;
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserManagementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listing 200 users (with roles) and loading one user's detail through managed entities and
+ * UserMapper, against record projections and against the {@link UserDirectory} the read
+ * endpoints now use. Boots the app on the in-memory "test" profile; run {@link #main}, which
+ * adds the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int PAGE = 200;
+
+    private ConfigurableApplicationContext context;
+    private UserManagementService userManagementService;
+    private UserRepository userRepository;
+    private UserMapper userMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackEndApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        userManagementService = context.getBean(UserManagementService.class);
+        userRepository = context.getBean(UserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        RoleRepository roleRepository = context.getBean(RoleRepository.class);
+        Role admin = roleRepository.save(new Role("ADMIN"));
+        Role ordinary = roleRepository.save(new Role("ORDINARY"));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username(String.format("user%04d", i))
+                    .password("not-a-real-hash")
+                    .email(String.format("user%04d@example.com", i))
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .roles(new HashSet<>(i % 10 == 0 ? Set.of(ordinary, admin) : Set.of(ordinary)))
+                    .build());
+        }
+        userRepository.saveAll(users);
+        context.getBean(UserDirectory.class).rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserDto> listEntities() {
+        return transactionTemplate.execute(status -> {
+            List<User> users = entityManager
+                    .createQuery("SELECT u FROM User u ORDER BY u.username", User.class)
+                    .setMaxResults(PAGE)
+                    .getResultList();
+            entityManager.createQuery("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u IN :users", User.class)
+                    .setParameter("users", users)
+                    .getResultList();
+            return userMapper.toDtoList(users);
+        });
+    }
+
+    @Benchmark
+    public List<UserDto> listProjection() {
+        return userManagementService.getUsers(UserSort.USERNAME, null, PAGE).getItems();
+    }
+
+    @Benchmark
+    public List<UserDto> listDirectory() {
+        return userManagementService.getAllUsers(PAGE);
+    }
+
+    @Benchmark
+    public UserDto detailEntity() {
+        return transactionTemplate.execute(status ->
+                userMapper.toDto(userRepository.findWithRolesByUsername("user0500").orElseThrow()));
+    }
+
+    @Benchmark
+    public UserDto detailProjection() {
+        return transactionTemplate.execute(status ->
+                userMapper.toDto(userRepository.findDetailRowsByUsername("user0500")));
+    }
+
+    @Benchmark
+    public UserDto detailDirectory() {
+        return userManagementService.getUserByUsername("user0500");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.backend.service;
+
+import org.example.backend.dao.projection.RoleRow;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dto.RoleDto;
+import org.example.backend.mapper.RoleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roleRegistry = new RoleRegistry(roleRepository, new RoleMapper());
+    }
+
+    @Test
+    void lookups_ShouldLoadTheCatalogueOnce() {
+        // Given
+        when(roleRepository.findAllRows()).thenReturn(List.of(new RoleRow(1, "ADMIN"), new RoleRow(2, "ORDINARY")));
+
+        // When
+        boolean admin = roleRegistry.exists("ADMIN");
+        boolean missing = roleRegistry.exists("AUDITOR");
+        List<RoleDto> all = roleRegistry.all();
+
+        // Then
+        assertTrue(admin);
+        assertFalse(missing);
+        assertFalse(roleRegistry.exists(null));
+        assertEquals(Optional.of(2), roleRegistry.idOf("ORDINARY"));
+        assertEquals(Optional.of("ADMIN"), roleRegistry.nameOf(1));
+        assertEquals(Optional.empty(), roleRegistry.nameOf(null));
+        assertTrue(roleRegistry.idOf("AUDITOR").isEmpty());
+        assertEquals(List.of("ADMIN", "ORDINARY"), all.stream().map(RoleDto::getRole).toList());
+        assertThrows(UnsupportedOperationException.class, () -> all.add(new RoleDto("X")));
+        verify(roleRepository, times(1)).findAllRows();
+    }
+
+    @Test
+    void reloadAfterCommit_WithoutTransaction_ShouldSwapTheSnapshot() {
+        // Given
+        when(roleRepository.findAllRows())
+                .thenReturn(List.of(new RoleRow(2, "ORDINARY")))
+                .thenReturn(List.of(new RoleRow(3, "AUDITOR"), new RoleRow(2, "ORDINARY")));
+        List<RoleDto> before = roleRegistry.all();
+
+        // When
+        roleRegistry.reloadAfterCommit();
+
+        // Then
+        assertEquals(1, before.size());
+        assertTrue(roleRegistry.find("AUDITOR").isPresent());
+        assertSame(roleRegistry.find("ORDINARY").get(), before.get(0));
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.projection.RoleRow;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.UserDto;
+import org.example.backend.mapper.RoleMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Limit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lookups against a directory of a million generated users, one in ten of them an admin. Setup
+ * prints the directory's own size estimate per user next to the heap it was measured to retain,
+ * and the heap the same users take as {@link UserRow} records for comparison. Run {@link #main}
+ * with a heap of at least 2 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserDirectoryBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    private UserDirectory directory;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        List<UserRow> users = users();
+        long rows = usedHeap() - before;
+
+        // The whole directory comes back as one page and the page after it is empty. Stub-only
+        // mocks keep no invocations, which would otherwise hold a million usernames in the heap
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findFirstPageByUsername(any(Limit.class))).thenReturn(users);
+        when(userRepository.findPageByUsernameAfter(anyString(), any(Limit.class))).thenReturn(List.of());
+        when(userRepository.findRoleRowsByUsernameIn(any())).thenAnswer(invocation -> roleRows(invocation.getArgument(0)));
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAllRows()).thenReturn(List.of(new RoleRow(1, "ADMIN"), new RoleRow(2, "ORDINARY")));
+        RoleMapper roleMapper = new RoleMapper();
+        directory = new UserDirectory(userRepository, new RoleRegistry(roleRepository, roleMapper), roleMapper,
+                new SimpleMeterRegistry());
+
+        before = usedHeap();
+        directory.rebuild();
+        long retained = usedHeap() - before;
+        System.out.printf("%nDirectory: %d users, estimated %d B/user, measured %d B/user; as UserRow records: %d B/user%n",
+                directory.size(), directory.bytes() / directory.size(), retained / USERS, rows / USERS);
+    }
+
+    @Benchmark
+    public Optional<UserDto> find() {
+        return directory.find(username(nextIndex()));
+    }
+
+    @Benchmark
+    public Optional<List<String>> roleNames() {
+        return directory.roleNames(username(nextIndex()));
+    }
+
+    @Benchmark
+    public List<UserDto> first() {
+        return directory.first(20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserDirectoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private int nextIndex() {
+        next = (next + 7919) % USERS;
+        return next;
+    }
+
+    private static List<UserRow> users() {
+        List<UserRow> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String username = username(i);
+            users.add(new UserRow(username, username + "@example.com", "First" + i, "Last" + i));
+        }
+        return users;
+    }
+
+    // Everyone is ordinary and every tenth user is also an admin
+    private static List<UserRoleRow> roleRows(Collection<String> usernames) {
+        List<UserRoleRow> rows = new ArrayList<>();
+        for (String username : usernames) {
+            rows.add(new UserRoleRow(username, "ORDINARY"));
+            if (username.endsWith("0")) {
+                rows.add(new UserRoleRow(username, "ADMIN"));
+            }
+        }
+        return rows;
+    }
+
+    private static String username(int i) {
+        return String.format("user%07d", i);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.backend.service;
+
+import org.example.backend.dao.entity.Role;
+import org.example.backend.dao.entity.User;
+import org.example.backend.dao.projection.RoleRow;
+import org.example.backend.dao.projection.UserRoleRow;
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.UserDto;
+import org.example.backend.mapper.RoleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDirectoryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private UserDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(roleRepository.findAllRows()).thenReturn(List.of(new RoleRow(1, "ADMIN"), new RoleRow(2, "ORDINARY")));
+        RoleMapper roleMapper = new RoleMapper();
+        directory = new UserDirectory(userRepository, new RoleRegistry(roleRepository, roleMapper), roleMapper,
+                new SimpleMeterRegistry());
+        when(userRepository.findFirstPageByUsername(Limit.of(UserDirectory.LOAD_PAGE))).thenReturn(List.of(
+                new UserRow("alice", "alice@example.com", "Alice", "Martin"),
+                new UserRow("Bob", "bob@example.com", null, "Alison"),
+                new UserRow("carol", "carol@example.com", "Carol", "Smith")));
+        when(userRepository.findRoleRowsByUsernameIn(List.of("alice", "Bob", "carol"))).thenReturn(List.of(
+                new UserRoleRow("alice", "ORDINARY"), new UserRoleRow("alice", "ADMIN"),
+                new UserRoleRow("carol", "ORDINARY")));
+        directory.rebuild();
+    }
+
+    @Test
+    void find_ShouldMatchUsernamesIgnoringCaseAndKeepNulls() {
+        // When
+        UserDto bob = directory.find("BOB").orElseThrow();
+
+        // Then
+        assertTrue(directory.isReady());
+        assertEquals("Bob", bob.getUsername());
+        assertNull(bob.getFirstName());
+        assertEquals("Alison", bob.getLastName());
+        assertEquals(List.of(), bob.getRoles());
+        assertEquals(List.of("ADMIN", "ORDINARY"), roles(directory.find("alice").orElseThrow()));
+        assertEquals(Optional.empty(), directory.find("dave"));
+        assertEquals(Optional.empty(), directory.find(null));
+    }
+
+    @Test
+    void firstAndFindAll_ShouldFollowUsernameAndRequestOrder() {
+        // When
+        List<String> first = usernames(directory.first(2));
+        List<String> all = usernames(directory.findAll(List.of("carol", "alice")).orElseThrow());
+
+        // Then
+        assertEquals(List.of("alice", "Bob"), first);
+        assertEquals(List.of("carol", "alice"), all);
+        assertEquals(Optional.empty(), directory.findAll(List.of("carol", "dave")));
+        assertEquals(3, directory.first(10).size());
+    }
+
+    @Test
+    void changesWithoutTransaction_ShouldApplyAtOnce() {
+        // When
+        directory.putAfterCommit(User.builder()
+                .username("dave")
+                .email("dave@example.com")
+                .firstName("Dave")
+                .roles(new HashSet<>(Set.of(new Role(1, "ADMIN"))))
+                .build());
+        directory.removeAfterCommit("CAROL");
+        directory.grantAfterCommit(1, List.of("bob", "nobody"));
+        directory.revokeAfterCommit(2, List.of("alice"));
+
+        // Then
+        assertEquals(List.of("alice", "Bob", "dave"), usernames(directory.first(10)));
+        assertEquals(Optional.of(List.of("ADMIN")), directory.roleNames("dave"));
+        assertEquals(Optional.of(List.of("ADMIN")), directory.roleNames("bob"));
+        assertEquals(Optional.of(List.of("ADMIN")), directory.roleNames("alice"));
+        assertEquals(Optional.empty(), directory.roleNames("carol"));
+        assertEquals(3, directory.size());
+    }
+
+    @Test
+    void dropRole_ShouldRemoveItFromEveryUser() {
+        // When
+        directory.dropRoleAfterCommit(2);
+        directory.putAllAfterCommit(List.of(new UserRow("erin", "erin@example.com", "Erin", "Moss")), 2);
+
+        // Then: the freed bit is reused for the role's next grant without resurrecting old holders
+        assertEquals(Optional.of(List.of("ADMIN")), directory.roleNames("alice"));
+        assertEquals(Optional.of(List.of()), directory.roleNames("carol"));
+        assertEquals(Optional.of(List.of("ORDINARY")), directory.roleNames("erin"));
+    }
+
+    @Test
+    void rebuild_ShouldReplayChangesThatCommitWhileLoading() {
+        // Given: a user is added while the first page is being read
+        when(userRepository.findFirstPageByUsername(Limit.of(UserDirectory.LOAD_PAGE))).thenAnswer(invocation -> {
+            directory.putAllAfterCommit(List.of(new UserRow("zoe", "zoe@example.com", "Zoe", "Park")), null);
+            return List.of(new UserRow("erin", "erin@example.com", "Erin", "Moss"));
+        });
+        when(userRepository.findRoleRowsByUsernameIn(List.of("erin"))).thenReturn(List.of());
+
+        // When
+        directory.rebuild();
+
+        // Then
+        assertEquals(List.of("erin", "zoe"), usernames(directory.first(10)));
+        assertEquals(Optional.empty(), directory.find("alice"));
+        verify(userRepository, never()).findPageByUsernameAfter(anyString(), any());
+    }
+
+    @Test
+    void rebuild_RoleNewerThanTheRegistry_ShouldReloadTheRegistry() {
+        // Given: AUDITOR was created on another node after the registry last loaded
+        when(roleRepository.findAllRows()).thenReturn(List.of(new RoleRow(1, "ADMIN"), new RoleRow(2, "ORDINARY"),
+                new RoleRow(3, "AUDITOR")));
+        when(userRepository.findFirstPageByUsername(Limit.of(UserDirectory.LOAD_PAGE)))
+                .thenReturn(List.of(new UserRow("erin", "erin@example.com", "Erin", "Moss")));
+        when(userRepository.findRoleRowsByUsernameIn(List.of("erin")))
+                .thenReturn(List.of(new UserRoleRow("erin", "AUDITOR"), new UserRoleRow("erin", "ORDINARY")));
+
+        // When
+        directory.rebuild();
+
+        // Then
+        assertEquals(Optional.of(List.of("AUDITOR", "ORDINARY")), directory.roleNames("erin"));
+    }
+
+    @Test
+    void rebuild_RoleMissingAfterReload_ShouldFailAndKeepTheLoadedUsers() {
+        // Given
+        when(userRepository.findFirstPageByUsername(Limit.of(UserDirectory.LOAD_PAGE)))
+                .thenReturn(List.of(new UserRow("erin", "erin@example.com", "Erin", "Moss")));
+        when(userRepository.findRoleRowsByUsernameIn(List.of("erin")))
+                .thenReturn(List.of(new UserRoleRow("erin", "GHOST")));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> directory.rebuild());
+        assertEquals(Optional.empty(), directory.find("erin"));
+        assertEquals(Optional.of(List.of("ADMIN", "ORDINARY")), directory.roleNames("alice"));
+    }
+
+    @Test
+    void manyUsers_ShouldSurviveGrowthAndRemoval() {
+        // Given
+        List<UserRow> users = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            users.add(new UserRow(String.format("u%05d", i), "u" + i + "@example.com", "First" + i, "Last" + i));
+        }
+
+        // When
+        directory.putAllAfterCommit(users, 1);
+        for (int i = 0; i < 5000; i += 2) {
+            directory.removeAfterCommit(String.format("u%05d", i));
+        }
+
+        // Then
+        assertEquals(3 + 2500, directory.size());
+        assertEquals("First4999", directory.find("U04999").orElseThrow().getFirstName());
+        assertEquals(Optional.empty(), directory.find("u04998"));
+        assertEquals(List.of("u00001", "u00003"), usernames(directory.first(5).subList(3, 5)));
+        assertTrue(directory.bytes() > 0);
+    }
+
+    private static List<String> usernames(List<UserDto> users) {
+        return users.stream().map(UserDto::getUsername).toList();
+    }
+
+    private static List<String> roles(UserDto user) {
+        return user.getRoles().stream().map(RoleDto::getRole).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Limit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Typeahead latency over a million generated users, sampled so the score includes p99. Queries
+ * cover one- and two-character prefixes, longer prefixes, substrings of names and email domains,
+ * and a term with no match. Run {@link #main} with a heap of at least 2 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserSearchIndexBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"Adam", "Alice", "Bruno", "Carla", "Dmitri", "Elena", "Farid",
+            "Grace", "Hugo", "Ines", "Jamal", "Karin", "Leila", "Marco", "Nadia", "Omar", "Paula", "Quentin", "Rosa", "Sami"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit",
+            "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux",
+            "Vincent", "Fournier"};
+
+    @Param({"a", "ma", "mart", "nadia", "ernard", "mail7.ex", "1234", "xyz"})
+    private String query;
+
+    private UserSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        List<UserRow> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+            String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            String username = (firstName.charAt(0) + lastName + i).toLowerCase();
+            users.add(new UserRow(username, username + "@mail" + (i % 50) + ".example.com", firstName, lastName));
+        }
+        users.sort(Comparator.comparing(UserRow::username));
+
+        // The whole directory comes back as one page and the page after it is empty
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findFirstPageByUsername(any(Limit.class))).thenReturn(users);
+        when(userRepository.findPageByUsernameAfter(anyString(), any(Limit.class))).thenReturn(List.of());
+        index = new UserSearchIndex(userRepository, new SimpleMeterRegistry());
+        index.rebuild();
+    }
+
+    @Benchmark
+    public List<UserRow> search() {
+        return index.search(query, 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.backend.service;
+
+import org.example.backend.dao.projection.UserRow;
+import org.example.backend.dao.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new UserSearchIndex(userRepository, new SimpleMeterRegistry());
+        when(userRepository.findFirstPageByUsername(Limit.of(UserSearchIndex.LOAD_PAGE))).thenReturn(List.of(
+                new UserRow("alice", "alice@corp.example", "Alice", "Martin"),
+                new UserRow("bob", "bob@example.com", "Robert", "Alison"),
+                new UserRow("carol", "carol@example.com", "Carol", "Smith"),
+                new UserRow("malik", "m.k@example.com", "Malik", "Kone")));
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldRankUsernamePrefixBeforeOtherPrefixesAndSubstrings() {
+        // When
+        List<String> ali = usernames(index.search("ali", 10));
+        List<String> al = usernames(index.search("AL", 10));
+
+        // Then
+        assertEquals(List.of("alice", "bob", "malik"), ali);
+        // Two characters match field starts only
+        assertEquals(List.of("alice", "bob"), al);
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void search_ShouldMatchEmailSubstringsAndRejectGramsSplitAcrossFields() {
+        // When & Then
+        assertEquals(List.of("alice"), usernames(index.search("corp.ex", 10)));
+        // "bob" comes from bob's username and "obe", "ber", "ert" from Robert, but no field holds "bobert"
+        assertEquals(List.of(), index.search("bobert", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+    }
+
+    @Test
+    void search_ShouldRankEveryCandidateBeforeTakingTheLimit() {
+        // Given: thousands of first-name matches indexed ahead of the username matches
+        List<UserRow> samuels = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            samuels.add(new UserRow(String.format("user%04d", i), "u" + i + "@example.com", "Samuel", "Doe"));
+        }
+        index.putAllAfterCommit(samuels);
+        index.putAfterCommit(new UserRow("samantha", "samantha@example.com", "Samantha", "Reed"));
+        index.putAfterCommit(new UserRow("sam", "sam@example.com", "Sam", "Reed"));
+
+        // When
+        List<String> sam = usernames(index.search("sam", 3));
+
+        // Then
+        assertEquals(List.of("sam", "samantha", "user0000"), sam);
+    }
+
+    @Test
+    void search_ShouldMatchFieldsWhoseLowerCaseChangesLength() {
+        // Given: İ lower-cases to two chars, i and a combining dot
+        index.putAfterCommit(new UserRow("deniz", "deniz@example.com", "Deniz", "İnce"));
+        index.putAfterCommit(new UserRow("İLKER", "ilker@example.com", "İlker", "Aydın"));
+
+        // When & Then
+        assertEquals(List.of("deniz"), usernames(index.search("i\u0307nce", 10)));
+        assertEquals(List.of("deniz"), usernames(index.search("İnce", 10)));
+        assertEquals(List.of("İLKER"), usernames(index.search("i\u0307lker", 10)));
+        assertEquals(List.of("İLKER"), usernames(index.search("lker", 10)));
+    }
+
+    @Test
+    void changesWithoutTransaction_ShouldApplyAtOnce() {
+        // When
+        index.putAfterCommit(new UserRow("dave", "dave@example.com", "Dave", "Martinez"));
+        index.putAfterCommit(new UserRow("alice", "alice@example.com", "Alice", "Durand"));
+        index.removeAfterCommit("CAROL");
+
+        // Then
+        assertEquals(List.of("dave"), usernames(index.search("martin", 10)));
+        assertEquals(List.of(), index.search("carol", 10));
+        assertEquals(List.of("alice"), usernames(index.search("durand", 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void rebuild_ShouldPageThroughUsersAndDropDeadDocuments() {
+        // Given
+        index.removeAfterCommit("bob");
+        when(userRepository.findFirstPageByUsername(Limit.of(UserSearchIndex.LOAD_PAGE)))
+                .thenReturn(List.of(new UserRow("erin", "erin@example.com", "Erin", "Moss")));
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertEquals(List.of("erin"), usernames(index.search("er", 10)));
+        assertEquals(List.of(), index.search("alice", 10));
+        assertEquals(1, index.size());
+        verify(userRepository, never()).findPageByUsernameAfter(anyString(), any());
+    }
+
+    private static List<String> usernames(List<UserRow> users) {
+        return users.stream().map(UserRow::username).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.backend.web.api;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("AsyncRequestTimeouts Tests")
+class AsyncRequestTimeoutsTest {
+
+    private final AsyncRequestTimeouts.ExtendedTimeout interceptor = new AsyncRequestTimeouts.ExtendedTimeout();
+
+    @Test
+    @DisplayName("Should apply the timeout a handler recorded when its request goes async")
+    void extendedRequest_ShouldGetItsOwnTimeout() {
+        // Given
+        MockHttpServletRequest servletRequest = asyncRequest();
+        StandardServletAsyncWebRequest request = new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+        request.setTimeout(30_000L);
+        AsyncRequestTimeouts.extend(servletRequest, Duration.ofHours(1));
+
+        // When
+        interceptor.beforeConcurrentHandling(request, () -> null);
+        request.startAsync();
+
+        // Then
+        assertEquals(Duration.ofHours(1).toMillis(), servletRequest.getAsyncContext().getTimeout());
+    }
+
+    @Test
+    @DisplayName("Should leave the default timeout on every other async request")
+    void otherRequest_ShouldKeepTheDefaultTimeout() {
+        // Given
+        MockHttpServletRequest servletRequest = asyncRequest();
+        StandardServletAsyncWebRequest request = new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+        request.setTimeout(30_000L);
+
+        // When
+        interceptor.beforeConcurrentHandling(request, () -> null);
+        request.startAsync();
+
+        // Then
+        assertEquals(30_000L, servletRequest.getAsyncContext().getTimeout());
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
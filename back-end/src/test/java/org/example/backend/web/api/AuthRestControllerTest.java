@@ -0,0 +1,261 @@
+package org.example.backend.web.api;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.example.backend.mapper.UserMapper;
+import org.example.backend.security.JWTAuthorizationFilter;
+import org.example.backend.security.LoginThrottle;
+import org.example.backend.security.LoginThrottledException;
+import org.example.backend.security.PasswordHashingExecutor;
+import org.example.backend.security.RefreshTokenService;
+import org.example.backend.security.TokenClaims;
+import org.example.backend.security.TokenEngine;
+import org.example.backend.security.TokenRevocationStore;
+import org.example.backend.security.TokenService;
+import org.example.backend.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthRestController Tests")
+class AuthRestControllerTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TokenEngine tokenEngine;
+
+    @InjectMocks
+    private AuthRestController authRestController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(authRestController)
+                .setControllerAdvice(new LoginThrottleExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer verify from the already-authenticated token claims")
+    void verifyToken_AuthenticatedRequest_ShouldReturnClaimsWithoutDecoding() throws Exception {
+        // Given
+        authenticate(new TokenClaims("jti-1", "testuser", List.of("ADMIN"), 1234L));
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/verify").header("Authorization", "Bearer token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.roles[0]").value("ADMIN"))
+                .andExpect(jsonPath("$.expiresAt").value(1234));
+
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    @DisplayName("Should reject verify when the header holds no bearer token")
+    void verifyToken_NoBearerToken_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/verify").header("Authorization", "Basic dXNlcjpwYXNz"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("No valid token provided"));
+    }
+
+    @Test
+    @DisplayName("Should answer an invalid token on verify with the verify error body, and elsewhere with the filter's")
+    void verifyToken_InvalidToken_ShouldKeepTheVerifyErrorBody() throws Exception {
+        // Given
+        when(tokenEngine.authenticate(anyString(), anyInt(), anyInt())).thenThrow(new JWTVerificationException("expired"));
+        MockMvc filtered = MockMvcBuilders.standaloneSetup(authRestController)
+                .addFilters(new JWTAuthorizationFilter(tokenEngine, tokenRevocationStore))
+                .build();
+
+        // When & Then
+        filtered.perform(post("/api/auth/verify").servletPath("/api/auth/verify").header("Authorization", "Bearer expired"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid or expired token"));
+        filtered.perform(get("/api/auth/me").servletPath("/api/auth/me").header("Authorization", "Bearer expired"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid JWT token: expired"));
+    }
+
+    @Test
+    @DisplayName("Should resolve the current user from the security context")
+    void getCurrentUser_AuthenticatedRequest_ShouldReturnUser() throws Exception {
+        // Given
+        authenticate(new TokenClaims("jti-1", "testuser", List.of("ADMIN"), 1234L));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(
+                new org.springframework.security.core.userdetails.User("testuser", "hash",
+                        List.of(new SimpleGrantedAuthority("ADMIN"))));
+
+        // When & Then
+        mockMvc.perform(get("/api/auth/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.roles[0].role").value("ADMIN"));
+
+        verify(userDetailsService).loadUserByUsername("testuser");
+        verifyNoInteractions(tokenService, accountService);
+    }
+
+    @Test
+    @DisplayName("Should return not found when the token subject no longer exists")
+    void getCurrentUser_UnknownUser_ShouldReturnNotFound() throws Exception {
+        // Given
+        authenticate(new TokenClaims("jti-2", "ghost", List.of(), 1234L));
+        when(userDetailsService.loadUserByUsername(anyString())).thenThrow(new UsernameNotFoundException("ghost"));
+
+        // When & Then
+        mockMvc.perform(get("/api/auth/me"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("User not found"));
+    }
+
+    @Test
+    @DisplayName("Should revoke the presented token on logout")
+    void logout_AuthenticatedRequest_ShouldRevokeToken() throws Exception {
+        // Given
+        authenticate(new TokenClaims("jti-3", "testuser", List.of("ADMIN"), 1234L));
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Successfully logged out"));
+
+        verify(tokenRevocationStore).revoke("jti-3", 1234L);
+    }
+
+    @Test
+    @DisplayName("Should log out without revoking when no token was presented")
+    void logout_NoAuthentication_ShouldNotRevoke() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isOk());
+
+        verifyNoInteractions(tokenRevocationStore);
+    }
+
+    @Test
+    @DisplayName("Should issue a new access token and rotated refresh token")
+    void refresh_ValidToken_ShouldReturnNewTokens() throws Exception {
+        // Given
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation("testuser", "new-refresh")));
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(
+                new org.springframework.security.core.userdetails.User("testuser", "hash",
+                        List.of(new SimpleGrantedAuthority("ADMIN"))));
+        when(tokenService.issue(eq("testuser"), any())).thenReturn(new TokenService.IssuedToken("access", 1234L));
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"old-refresh\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("Bearer access"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"))
+                .andExpect(jsonPath("$.expiresAt").value("1234"));
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token that cannot be rotated")
+    void refresh_InvalidToken_ShouldReturnUnauthorized() throws Exception {
+        // Given
+        when(refreshTokenService.rotate("reused")).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"reused\"}"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(userDetailsService, tokenService);
+    }
+
+    @Test
+    @DisplayName("Should refuse a throttled login before authenticating")
+    void login_Throttled_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        doThrow(new LoginThrottledException(12)).when(loginThrottle).acquire(eq("testuser"), anyString());
+
+        // When & Then
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"password123\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+
+        verifyNoInteractions(passwordHashingExecutor, authenticationManager);
+    }
+
+    private static void authenticate(TokenClaims claims) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                claims.username(), null,
+                claims.roles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
+        authentication.setDetails(claims);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
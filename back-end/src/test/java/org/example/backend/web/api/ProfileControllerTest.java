@@ -4,17 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.backend.dto.ChangePasswordDto;
 import org.example.backend.dto.ProfileUpdateDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.security.PasswordHashingExecutor;
 import org.example.backend.service.UserManagementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -33,6 +37,10 @@ class ProfileControllerTest {
     @Mock
     private SecurityContext securityContext;
 
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor =
+            new PasswordHashingExecutor(1, 10, 1, new SimpleMeterRegistry());
+
     @InjectMocks
     private ProfileController profileController;
 
@@ -149,9 +157,12 @@ class ProfileControllerTest {
         doNothing().when(userManagementService).changePassword(eq("testuser"), any(ChangePasswordDto.class));
 
         // When & Then
-        mockMvc.perform(put("/api/profile/password")
+        MvcResult result = mockMvc.perform(put("/api/profile/password")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(changePasswordDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Password changed successfully"));
 
@@ -170,9 +181,12 @@ class ProfileControllerTest {
                 .when(userManagementService).changePassword(eq("testuser"), any(ChangePasswordDto.class));
 
         // When & Then
-        mockMvc.perform(put("/api/profile/password")
+        MvcResult result = mockMvc.perform(put("/api/profile/password")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(changePasswordDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Current password is incorrect"));
 
@@ -191,9 +205,12 @@ class ProfileControllerTest {
                 .when(userManagementService).changePassword(eq("testuser"), any(ChangePasswordDto.class));
 
         // When & Then
-        mockMvc.perform(put("/api/profile/password")
+        MvcResult result = mockMvc.perform(put("/api/profile/password")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(changePasswordDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("User not found"));
 
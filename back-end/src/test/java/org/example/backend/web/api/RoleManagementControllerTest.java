@@ -4,12 +4,16 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.example.backend.dto.RoleDto;
+import org.example.backend.dto.RoleMembersDto;
+import org.example.backend.dto.RoleMembersResultDto;
 import org.example.backend.service.RoleManagementService;
+import org.example.backend.service.RoleMembershipService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
@@ -39,6 +43,9 @@ class RoleManagementControllerTest {
     @Mock
     private RoleManagementService roleManagementService;
 
+    @Mock
+    private RoleMembershipService roleMembershipService;
+
     @InjectMocks
     private RoleManagementController roleManagementController;
 
@@ -259,4 +266,54 @@ class RoleManagementControllerTest {
         // Verify no other interactions occurred
         verifyNoMoreInteractions(roleManagementService);
     }
+
+    @Test
+    @DisplayName("Should grant a role to listed users and return the counts")
+    @WithMockUser(roles = "ADMIN")
+    void addMembers_Usernames_ShouldReturnCounts() throws Exception {
+        // Given
+        when(roleMembershipService.addMembers(eq("TEST_ROLE"), any(RoleMembersDto.class)))
+                .thenReturn(new RoleMembersResultDto("TEST_ROLE", 2, 1));
+
+        // When & Then
+        mockMvc.perform(post("/api/roles/TEST_ROLE/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[\"alice\",\"bob\",\"carol\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("TEST_ROLE"))
+                .andExpect(jsonPath("$.changed").value(2))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        verify(roleMembershipService, times(1)).addMembers(eq("TEST_ROLE"), any(RoleMembersDto.class));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when both usernames and a filter are given")
+    @WithMockUser(roles = "ADMIN")
+    void removeMembers_UsernamesAndFilter_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(roleMembershipService.removeMembers(eq("TEST_ROLE"), any(RoleMembersDto.class)))
+                .thenThrow(new IllegalArgumentException("Give either usernames or a filter"));
+
+        // When & Then
+        mockMvc.perform(delete("/api/roles/TEST_ROLE/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[\"alice\"],\"filter\":{\"usernamePrefix\":\"a\"}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return not found when bulk-granting an unknown role")
+    @WithMockUser(roles = "ADMIN")
+    void addMembers_UnknownRole_ShouldReturnNotFound() throws Exception {
+        // Given
+        when(roleMembershipService.addMembers(eq("NOPE"), any(RoleMembersDto.class)))
+                .thenThrow(new RuntimeException("Role not found: NOPE"));
+
+        // When & Then
+        mockMvc.perform(post("/api/roles/NOPE/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\":[\"alice\"]}"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,272 @@
+package org.example.backend.web.api;
+
+import java.util.List;
+
+import org.example.backend.IntegrationTestData;
+import org.example.backend.dao.repository.RoleRepository;
+import org.example.backend.dao.repository.UserRepository;
+import org.example.backend.security.BoundedUserCache;
+import org.example.backend.security.SecurityParameters;
+import org.example.backend.security.TokenService;
+import org.example.backend.service.AccountService;
+import org.example.backend.service.RoleRegistry;
+import org.example.backend.service.UserDirectory;
+import org.example.backend.service.UserSearchIndex;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs endpoints against an in-memory database and fails when one issues more SQL statements
+ * than its budget, which is how an N+1 on a lazy association shows up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("SQL statement budgets")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private BoundedUserCache userCache;
+
+    @Autowired
+    private AccountService accountService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        IntegrationTestData.seed(userRepository, roleRepository, passwordEncoder, roleRegistry);
+        // The seed bypasses the services, so load it into the directory the way startup does
+        userDirectory.rebuild();
+    }
+
+    @Test
+    @DisplayName("A page of users loads users and their roles in two statements")
+    @WithMockUser(roles = "ADMIN")
+    void listPage_ShouldStayWithinBudget() throws Exception {
+        assertStatements(2, () -> mockMvc.perform(get("/api/users").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(20))
+                .andExpect(jsonPath("$.items[19].roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("The unpaged listing is served from the user directory")
+    @WithMockUser(roles = "ADMIN")
+    void unpagedList_ShouldStayWithinBudget() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/users").param("limit", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(25))
+                .andExpect(jsonPath("$[24].roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("User detail is served from the user directory")
+    @WithMockUser(roles = "ADMIN")
+    void detail_ShouldStayWithinBudget() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/users/user07"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("Search takes matches from the index and users from the directory")
+    @WithMockUser(roles = "ADMIN")
+    void search_ShouldStayWithinBudget() throws Exception {
+        // Likewise for the search index
+        userSearchIndex.rebuild();
+        assertStatements(0, () -> mockMvc.perform(get("/api/users/search").param("q", "user1").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].username").value("user10"))
+                .andExpect(jsonPath("$[0].roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("The role list is served from the role registry")
+    @WithMockUser(roles = "ADMIN")
+    void roles_ShouldStayWithinBudget() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/roles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].role").value("ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Granting or revoking a role writes one join row and never selects the role row")
+    @WithMockUser(roles = "ADMIN")
+    void roleMembership_ShouldStayWithinBudget() throws Exception {
+        String body = "{\"username\":\"user11\",\"role\":\"ADMIN\"}";
+        // roles is a set keyed by (user_id, role_id): one select, then one delete or insert
+        assertStatements(2, () -> mockMvc.perform(delete("/api/users/roles")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(1)));
+        assertStatements(2, () -> mockMvc.perform(post("/api/users/roles")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(2)));
+        // Granting a role the user already holds writes nothing
+        assertStatements(1, () -> mockMvc.perform(post("/api/users/roles")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("Bulk role membership costs one statement per chunk, plus one select per chunk for a filter")
+    @WithMockUser(roles = "ADMIN")
+    void bulkRoleMembership_ShouldStayWithinBudget() throws Exception {
+        String listed = "{\"usernames\":[\"user25\",\"user26\",\"user27\",\"user28\",\"user29\",\"nobody\"]}";
+        assertStatements(1, () -> mockMvc.perform(delete("/api/roles/ORDINARY/members")
+                        .contentType(MediaType.APPLICATION_JSON).content(listed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(5))
+                .andExpect(jsonPath("$.skipped").value(1)));
+        // user20..user24 still hold the role, so the select only returns the five revoked above
+        assertStatements(2, () -> mockMvc.perform(post("/api/roles/ORDINARY/members")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"filter\":{\"usernamePrefix\":\"user2\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(5)));
+        assertStatements(1, () -> mockMvc.perform(post("/api/roles/ORDINARY/members")
+                        .contentType(MediaType.APPLICATION_JSON).content(listed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(0))
+                .andExpect(jsonPath("$.skipped").value(6)));
+        // The directory sees the chunked writes as well
+        assertStatements(0, () -> mockMvc.perform(get("/api/users/user27"))
+                .andExpect(jsonPath("$.roles.length()").value(2)));
+    }
+
+    @Test
+    @DisplayName("Profile read is served from the directory, and the update is one select plus the update")
+    @WithMockUser(username = "user08", roles = "ORDINARY")
+    void profile_ShouldStayWithinBudget() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/profile"))
+                .andExpect(status().isOk()));
+        assertStatements(2, () -> mockMvc.perform(put("/api/profile")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Renamed")));
+        // The directory picks up the committed update
+        assertStatements(0, () -> mockMvc.perform(get("/api/profile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Renamed")));
+    }
+
+    @Test
+    @DisplayName("Changing a password never touches roles")
+    @WithMockUser(username = "user09", roles = "ORDINARY")
+    void changePassword_ShouldStayWithinBudget() throws Exception {
+        try {
+            assertStatements(2, () -> {
+                MvcResult result = mockMvc.perform(put("/api/profile/password")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"currentPassword\":\"" + IntegrationTestData.PASSWORD + "\",\"newPassword\":\"password456\"}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+                mockMvc.perform(asyncDispatch(result))
+                        .andExpect(status().isOk());
+            });
+        } finally {
+            // The context and its database are shared, and later tests sign in with the fixture password
+            accountService.updatePassword("user09", passwordEncoder.encode(IntegrationTestData.PASSWORD));
+        }
+    }
+
+    @Test
+    @DisplayName("Repeat credential lookups run one statement, then none while the user is cached")
+    void credentialLookups_ShouldStayWithinBudget() throws Exception {
+        userCache.removeUserFromCache("user12");
+        assertStatements(1, () -> userDetailsService.loadUserByUsername("user12"));
+        assertStatements(0, () -> {
+            userDetailsService.loadUserByUsername("user12");
+            userDetailsService.loadUserByUsername("USER12");
+        });
+    }
+
+    @Test
+    @DisplayName("The current-user lookup runs the credentials query, then none while the user is cached")
+    void me_ShouldStayWithinBudget() throws Exception {
+        String token = tokenService.issue("user10", List.of(new SimpleGrantedAuthority("ORDINARY"))).token();
+        userCache.removeUserFromCache("user10");
+        assertStatements(1, () -> mockMvc.perform(get("/api/auth/me")
+                        .header("Authorization", SecurityParameters.PREFIX + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("user10"))
+                .andExpect(jsonPath("$.roles.length()").value(2)));
+        assertStatements(0, () -> mockMvc.perform(get("/api/auth/me")
+                        .header("Authorization", SecurityParameters.PREFIX + token))
+                .andExpect(status().isOk()));
+    }
+
+    private void assertStatements(int budget, Request request) throws Exception {
+        statistics.clear();
+        request.perform();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget,
+                "Expected at most " + budget + " SQL statements but " + statements + " were prepared");
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
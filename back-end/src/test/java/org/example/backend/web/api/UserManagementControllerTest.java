@@ -1,14 +1,28 @@
 package org.example.backend.web.api;
 
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.example.backend.dto.CreateUserDto;
 import org.example.backend.dto.RoleDto;
 import org.example.backend.dto.UpdateUserDto;
 import org.example.backend.dto.UserDto;
+import org.example.backend.dto.UserImportErrorDto;
+import org.example.backend.dto.UserImportFormat;
+import org.example.backend.dto.UserImportResultDto;
+import org.example.backend.dto.UserPageDto;
 import org.example.backend.dto.UserRoleDto;
+import org.example.backend.dto.UserSort;
+import org.example.backend.security.PasswordHashingExecutor;
+import org.example.backend.security.PasswordHashingRejectedException;
+import org.example.backend.service.UserExportService;
+import org.example.backend.service.UserImportHeaderException;
+import org.example.backend.service.UserImportService;
 import org.example.backend.service.UserManagementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,26 +32,36 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 @DisplayName("UserManagementController Tests")
 class UserManagementControllerTest {
@@ -45,6 +69,16 @@ class UserManagementControllerTest {
     @Mock
     private UserManagementService userManagementService;
 
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private UserExportService userExportService;
+
+    @Spy
+    private PasswordHashingExecutor passwordHashingExecutor =
+            new PasswordHashingExecutor(1, 10, 1, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserManagementController userManagementController;
 
@@ -58,7 +92,9 @@ class UserManagementControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(userManagementController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(userManagementController)
+                .setControllerAdvice(new PasswordHashingExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
 
         // Setup test data
@@ -102,9 +138,12 @@ class UserManagementControllerTest {
         when(userManagementService.createUser(any(CreateUserDto.class))).thenReturn(testUserDto);
 
         // When & Then
-        mockMvc.perform(post("/api/users")
+        MvcResult result = mockMvc.perform(post("/api/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(testCreateUserDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.username").value("testuser"))
@@ -123,32 +162,277 @@ class UserManagementControllerTest {
         when(userManagementService.createUser(any(CreateUserDto.class)))
                 .thenThrow(new RuntimeException("User already exists"));
 
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testCreateUserDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("User already exists"));
+
+        verify(userManagementService, times(1)).createUser(any(CreateUserDto.class));
+    }
+
+    @Test
+    @DisplayName("Should return internal server error when create user fails unexpectedly")
+    @WithMockUser(roles = "ADMIN")
+    void createUser_UnexpectedFailure_ShouldReturnInternalServerError() throws Exception {
+        // Given
+        when(userManagementService.createUser(any(CreateUserDto.class)))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testCreateUserDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Internal server error"));
+    }
+
+    @Test
+    @DisplayName("Should return service unavailable when the hashing task is rejected after submission")
+    @WithMockUser(roles = "ADMIN")
+    void createUser_TaskRejected_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        doReturn(CompletableFuture.failedFuture(new CompletionException(new RejectedExecutionException("shut down"))))
+                .when(passwordHashingExecutor).submit(any());
+
+        // When & Then
+        MvcResult result = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testCreateUserDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable());
+
+        verifyNoInteractions(userManagementService);
+    }
+
+    @Test
+    @DisplayName("Should return service unavailable with Retry-After when the hashing queue is full")
+    @WithMockUser(roles = "ADMIN")
+    void createUser_HashingQueueFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        doThrow(new PasswordHashingRejectedException(1)).when(passwordHashingExecutor).submit(any());
+
         // When & Then
         mockMvc.perform(post("/api/users")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(testCreateUserDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verifyNoInteractions(userManagementService);
+    }
+
+    @Test
+    @DisplayName("Should import an NDJSON body and report the failed rows")
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_Ndjson_ShouldReturnResult() throws Exception {
+        // Given
+        UserImportResultDto importResult = UserImportResultDto.builder()
+                .imported(1)
+                .failed(1)
+                .errors(List.of(new UserImportErrorDto(2, "testuser", "User already exists with username: testuser")))
+                .build();
+        when(userImportService.importUsers(any(), eq(UserImportFormat.NDJSON))).thenReturn(importResult);
+
+        // When & Then
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(testCreateUserDto) + "\n"
+                                + objectMapper.writeValueAsString(testCreateUserDto) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].username").value("testuser"));
+
+        verify(userImportService, times(1)).importUsers(any(), eq(UserImportFormat.NDJSON));
+    }
+
+    @Test
+    @DisplayName("Should return bad request naming the expected and received columns when the CSV header is unusable")
+    @WithMockUser(roles = "ADMIN")
+    void importUsers_BadCsvHeader_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(userImportService.importUsers(any(), eq(UserImportFormat.CSV)))
+                .thenThrow(new UserImportHeaderException("email",
+                        List.of("username", "password", "email", "firstName", "lastName"),
+                        List.of("username", "password")));
+
+        // When & Then
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("text/csv")
+                        .content("username,password\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("CSV header is missing the email column"))
+                .andExpect(jsonPath("$.expected[2]").value("email"))
+                .andExpect(jsonPath("$.received.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should stream the CSV export as an attachment")
+    @WithMockUser(roles = "ADMIN")
+    void exportUsers_Csv_ShouldStreamAttachment() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("username,email,firstName,lastName,roles\n".getBytes());
+            return 0L;
+        }).when(userExportService).exportUsers(any(), eq(UserImportFormat.CSV));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/users/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("username,email,firstName,lastName,roles\n"));
+
+        verify(userExportService, times(1)).exportUsers(any(), eq(UserImportFormat.CSV));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for an unknown export format")
+    @WithMockUser(roles = "ADMIN")
+    void exportUsers_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users/export").param("format", "xml"))
                 .andExpect(status().isBadRequest());
 
-        verify(userManagementService, times(1)).createUser(any(CreateUserDto.class));
+        verifyNoInteractions(userExportService);
     }
 
     @Test
-    @DisplayName("Should get all users successfully")
+    @DisplayName("Should return search matches from the service")
     @WithMockUser(roles = "ADMIN")
-    void getAllUsers_ShouldReturnUserList() throws Exception {
+    void searchUsers_ShouldReturnMatches() throws Exception {
         // Given
-        List<UserDto> users = Arrays.asList(testUserDto);
-        when(userManagementService.getAllUsers()).thenReturn(users);
+        when(userManagementService.searchUsers("test", 10)).thenReturn(List.of(testUserDto));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("testuser"));
+
+        verify(userManagementService, times(1)).searchUsers("test", 10);
+    }
+
+    @Test
+    @DisplayName("Should return service unavailable while the search index loads")
+    @WithMockUser(roles = "ADMIN")
+    void searchUsers_IndexLoading_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(userManagementService.searchUsers("test", 10))
+                .thenThrow(new IllegalStateException("User search index is still loading"));
+
+        // When & Then
+        mockMvc.perform(get("/api/users/search").param("q", "test"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Should return bad request for a search limit over the maximum")
+    @WithMockUser(roles = "ADMIN")
+    void searchUsers_LimitTooLarge_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users/search").param("q", "test").param("limit", "51"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userManagementService);
+    }
+
+    @Test
+    @DisplayName("Should return the first page of users with a next cursor")
+    @WithMockUser(roles = "ADMIN")
+    void getUsers_ShouldReturnFirstPage() throws Exception {
+        // Given
+        UserPageDto page = UserPageDto.builder()
+                .items(Arrays.asList(testUserDto))
+                .nextCursor("next")
+                .build();
+        when(userManagementService.getUsers(UserSort.USERNAME, null, 50)).thenReturn(page);
 
         // When & Then
         mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items[0].username").value("testuser"))
+                .andExpect(jsonPath("$.items[0].email").value("test@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(userManagementService, times(1)).getUsers(UserSort.USERNAME, null, 50);
+    }
+
+    @Test
+    @DisplayName("Should pass sort, cursor and size through to the service")
+    @WithMockUser(roles = "ADMIN")
+    void getUsers_WithSortAndCursor_ShouldPassThrough() throws Exception {
+        // Given
+        when(userManagementService.getUsers(UserSort.EMAIL, "abc", 10))
+                .thenReturn(UserPageDto.builder().items(Collections.emptyList()).build());
+
+        // When & Then
+        mockMvc.perform(get("/api/users").param("sort", "email").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown sort, an oversized page or a bad cursor")
+    @WithMockUser(roles = "ADMIN")
+    void getUsers_InvalidParameters_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(userManagementService.getUsers(UserSort.USERNAME, "garbage", 50))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get("/api/users").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("size", "201"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should get an unpaged user list only with an explicit limit")
+    @WithMockUser(roles = "ADMIN")
+    void getAllUsers_WithLimit_ShouldReturnUserList() throws Exception {
+        // Given
+        List<UserDto> users = Arrays.asList(testUserDto);
+        when(userManagementService.getAllUsers(500)).thenReturn(users);
+
+        // When & Then
+        mockMvc.perform(get("/api/users").param("limit", "500"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].username").value("testuser"))
                 .andExpect(jsonPath("$[0].email").value("test@example.com"));
 
-        verify(userManagementService, times(1)).getAllUsers();
+        verify(userManagementService, times(1)).getAllUsers(500);
+    }
+
+    @Test
+    @DisplayName("Should reject an unpaged listing above the limit ceiling")
+    @WithMockUser(roles = "ADMIN")
+    void getAllUsers_LimitTooLarge_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/users").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userManagementService);
     }
 
     @Test
@@ -15,6 +15,8 @@ const Users = () => {
   const [editingUser, setEditingUser] = useState(null);
   const [roleManagementUser, setRoleManagementUser] = useState(null);
   const [searchTerm, setSearchTerm] = useState('');
+  // Server matches for searchTerm; null while the search box is empty
+  const [searchResults, setSearchResults] = useState(null);
   const [filterRole, setFilterRole] = useState('all');
   const [toast, setToast] = useState(null);
   const [formData, setFormData] = useState({
@@ -61,6 +63,28 @@ const Users = () => {
     loadInitialData();
   }, []);
 
+  // Search on the server once typing pauses; the loaded list only holds the first users
+  useEffect(() => {
+    const term = searchTerm.trim();
+    if (!term) {
+      setSearchResults(null);
+      return undefined;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const results = await userManagementService.searchUsers(term);
+        if (!cancelled) setSearchResults(results);
+      } catch (error) {
+        if (!cancelled) showToast('Search failed: ' + error.message, 'error');
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
+
   const loadUsers = async () => {
     try {
       setLoading(true);
@@ -181,21 +205,15 @@ const Users = () => {
     }));
   };
 
-  const filteredUsers = users.filter(user => {
-    const matchesSearch = user.firstName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         user.lastName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         user.email?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         user.username?.toLowerCase().includes(searchTerm.toLowerCase());
-    
+  // Search matches come from the server; the role filter still applies on top
+  const filteredUsers = (searchResults ?? users).filter(user => {
     if (filterRole === 'all') {
-      return matchesSearch;
+      return true;
     }
     
     const userRoles = user.roles || [];
     const userRoleNames = userRoles.map(role => (role.role || role).toLowerCase());
-    const matchesRole = userRoleNames.includes(filterRole.toLowerCase());
-    
-    return matchesSearch && matchesRole;
+    return userRoleNames.includes(filterRole.toLowerCase());
   });
 
   const getRoleBadgeVariant = (roles) => {
@@ -32,12 +32,45 @@ api.interceptors.request.use(
   }
 );
 
+// Concurrent 401s share one refresh call; replaying a rotated refresh token revokes the session
+let refreshInFlight = null;
+
+const refreshAccessToken = (refreshToken) => {
+  if (!refreshInFlight) {
+    refreshInFlight = axios.post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        localStorage.setItem('authToken', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 // Response interceptor
 api.interceptors.response.use(
   (response) => {
     return response;
   },
-  (error) => {
+  async (error) => {
+    const originalRequest = error.config;
+
+    // Access tokens are short-lived: rotate the refresh token once and replay the request
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status === 401 && refreshToken && originalRequest && !originalRequest._retried
+        && !originalRequest.url?.includes('/auth/refresh')) {
+      originalRequest._retried = true;
+      try {
+        originalRequest.headers.Authorization = await refreshAccessToken(refreshToken);
+        return api(originalRequest);
+      } catch (refreshError) {
+        localStorage.removeItem('refreshToken');
+      }
+    }
+
     // Handle common errors
     if (error.response?.status === 401) {
       // Handle unauthorized
@@ -71,7 +104,7 @@ export const authAPI = {
   login: (credentials) => api.post('/auth/login', credentials),
   register: (data) => api.post('/auth/register', data),
   logout: () => api.post('/auth/logout'),
-  refreshToken: () => api.post('/auth/refresh'),
+  refreshToken: (refreshToken) => api.post('/auth/refresh', { refreshToken }),
 };
 
 // Profile API endpoints
@@ -44,10 +44,11 @@ class AuthService {  // Login user
   async login(credentials) {
     try {
       const response = await authAPI.post('/api/auth/login', credentials);
-      const { token, username, expiresAt } = response.data;
+      const { token, refreshToken, username, expiresAt } = response.data;
       
       if (token) {
         localStorage.setItem('authToken', token);
+        localStorage.setItem('refreshToken', refreshToken);
         // Create user object with the returned data
         const user = { username, expiresAt };
         localStorage.setItem('user', JSON.stringify(user));
@@ -81,11 +82,12 @@ class AuthService {  // Login user
   // Logout user
   async logout() {
     try {
-      await authAPI.post('/api/auth/logout');
+      await authAPI.post('/api/auth/logout', { refreshToken: localStorage.getItem('refreshToken') });
     } catch (error) {
       console.error('Logout error:', error);
     } finally {
       localStorage.removeItem('authToken');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
       window.location.href = '/login';
     }
@@ -94,11 +96,14 @@ class AuthService {  // Login user
   // Refresh token
   async refreshToken() {
     try {
-      const response = await authAPI.post('/api/auth/refresh');
-      const { token } = response.data;
+      const response = await authAPI.post('/api/auth/refresh', {
+        refreshToken: localStorage.getItem('refreshToken'),
+      });
+      const { token, refreshToken } = response.data;
       
       if (token) {
         localStorage.setItem('authToken', token);
+        localStorage.setItem('refreshToken', refreshToken);
       }
       
       return { success: true, token };
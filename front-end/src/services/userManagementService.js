@@ -1,16 +1,36 @@
 import api from './api';
 
 export const userManagementService = {
-  // Get all users (Admin only)
+  // Get a page of users (Admin only); pass the previous page's nextCursor to continue
+  getUsersPage: async ({ sort = 'username', size = 50, cursor } = {}) => {
+    try {
+      const response = await api.get('/users', { params: { sort, size, cursor } });
+      return response.data;
+    } catch (error) {
+      throw new Error(error.response?.data?.message || 'Failed to fetch users');
+    }
+  },
+
+  // Get all users (Admin only), capped by the server's unpaged limit
   getAllUsers: async () => {
     try {
-      const response = await api.get('/users');
+      const response = await api.get('/users', { params: { limit: 1000 } });
       return response.data;
     } catch (error) {
       throw new Error(error.response?.data?.message || 'Failed to fetch users');
     }
   },
 
+  // Typeahead search over username, email and names (Admin only)
+  searchUsers: async (query, limit = 50) => {
+    try {
+      const response = await api.get('/users/search', { params: { q: query, limit } });
+      return response.data;
+    } catch (error) {
+      throw new Error(error.response?.data?.message || 'Failed to search users');
+    }
+  },
+
   // Get user by username (Admin or own profile)
   getUserByUsername: async (username) => {
     try {